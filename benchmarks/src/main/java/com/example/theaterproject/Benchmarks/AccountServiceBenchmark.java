@@ -0,0 +1,71 @@
+package com.example.theaterproject.Benchmarks;
+
+import com.example.theaterproject.Helpers.PasswordHelper;
+import com.example.theaterproject.Models.Account;
+import com.example.theaterproject.Models.Client;
+import com.example.theaterproject.Services.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AccountService#login(String, String)} against a growing number of client accounts.
+ * Passwords are hashed with a single iteration, so that creating a million accounts takes seconds;
+ * the lookup of the account is measured, not the cost of the hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-D" + PasswordHelper.ITERATIONS_PROPERTY + "=1")
+public class AccountServiceBenchmark {
+
+    /**
+     * Number of client accounts.
+     */
+    @Param({"10", "1000", "100000", "1000000"})
+    public int aSize;
+
+    private final AccountService aAccountService = AccountService.getInstance();
+    private String aLastUserName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Client> clients = new ArrayList<>(aSize);
+        for (int i = 0; i < aSize; i++) {
+            clients.add(new Client("user" + i, "password" + i, "user" + i + "@example.com"));
+        }
+        aAccountService.setClients(clients);
+        aLastUserName = "user" + (aSize - 1);
+    }
+
+    /**
+     * Logs in the client added last.
+     */
+    @Benchmark
+    public Account loginClient() {
+        return aAccountService.login(aLastUserName, "password" + (aSize - 1));
+    }
+
+    /**
+     * Attempts to log in an account that does not exist.
+     */
+    @Benchmark
+    public Account loginUnknownUser() {
+        return aAccountService.login("nobody", "password");
+    }
+}
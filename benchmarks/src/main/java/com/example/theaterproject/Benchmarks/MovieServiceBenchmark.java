@@ -0,0 +1,68 @@
+package com.example.theaterproject.Benchmarks;
+
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Services.MovieService;
+import javafx.collections.FXCollections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding and removing a movie in a catalog holding a growing number of movies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieServiceBenchmark {
+
+    /**
+     * Number of movies in the catalog.
+     */
+    @Param({"10", "1000", "100000", "1000000"})
+    public int aSize;
+
+    private final MovieService aMovieService = MovieService.getInstance();
+    private Movie aFirstMovie;
+    private final Movie aNewMovie = new Movie("New release", 120);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        aMovieService.setMovies(FXCollections.observableArrayList(TheaterData.movies(aSize)));
+        aFirstMovie = aMovieService.getMovies().get(0);
+    }
+
+    /**
+     * Adds a movie at the end of the catalog and removes it again.
+     */
+    @Benchmark
+    public int addAndRemoveLast() {
+        aMovieService.addMovie(aNewMovie);
+        aMovieService.removeMovie(aNewMovie);
+        return aMovieService.getMovies().size();
+    }
+
+    /**
+     * Removes the first movie of the catalog and adds it back at the end.
+     */
+    @Benchmark
+    public int removeFirstAndAdd() {
+        Movie movie = aMovieService.getMovies().get(0);
+        aMovieService.removeMovie(movie);
+        aMovieService.addMovie(movie);
+        return aMovieService.getMovies().size();
+    }
+}
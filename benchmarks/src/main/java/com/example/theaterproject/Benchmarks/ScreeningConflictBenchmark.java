@@ -0,0 +1,77 @@
+package com.example.theaterproject.Benchmarks;
+
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.Showroom;
+import com.example.theaterproject.Models.ShowroomSchedule;
+import javafx.collections.FXCollections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures screening conflict checks in a showroom holding a growing number of screenings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScreeningConflictBenchmark {
+
+    /**
+     * Number of screenings scheduled in the showroom.
+     */
+    @Param({"10", "1000", "100000", "1000000"})
+    public int aSize;
+
+    private Showroom aShowroom;
+    private List<Screening> aScreenings;
+    private Screening aConflicting;
+    private Screening aFree;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Movie movie = new Movie("Benchmark", 90);
+        aScreenings = TheaterData.screenings(aSize, List.of(movie));
+        aShowroom = new Showroom("Room", 200, FXCollections.observableArrayList(aScreenings));
+
+        // one candidate overlapping the screening in the middle of the schedule, one in the gap after it
+        LocalDateTime middle = aScreenings.get(aSize / 2).getDateTime();
+        aConflicting = new Screening(movie, 100, 1200, middle.plusMinutes(30));
+        aFree = new Screening(new Movie("Short", 10), 100, 1200, middle.plusMinutes(100));
+    }
+
+    @Benchmark
+    public Screening findConflict() {
+        return aShowroom.getScreeningsSnapshot().findConflict(aConflicting, null);
+    }
+
+    @Benchmark
+    public Screening findNoConflict() {
+        return aShowroom.getScreeningsSnapshot().findConflict(aFree, null);
+    }
+
+    /**
+     * Validates a whole schedule, as done when a showroom is created or saved.
+     */
+    @Benchmark
+    public List<Screening> validateSchedule() {
+        ShowroomSchedule.validate(aScreenings);
+        return aScreenings;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.theaterproject.Benchmarks;
+
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Services.ShowroomService;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the screening queries of {@link ShowroomService} against a growing number of screenings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShowroomServiceBenchmark {
+
+    /**
+     * Total number of screenings, spread over the showrooms.
+     */
+    @Param({"10", "1000", "100000", "1000000"})
+    public int aSize;
+
+    private final ShowroomService aShowroomService = ShowroomService.getInstance();
+    private Movie aMovie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Movie> movies = TheaterData.movies(TheaterData.aMovieCount);
+        aShowroomService.setShowrooms(TheaterData.showrooms(aSize, movies));
+        aMovie = movies.get(0);
+    }
+
+    @Benchmark
+    public ObservableList<Screening> getAllScreenings() {
+        return aShowroomService.getAllScreenings();
+    }
+
+    @Benchmark
+    public ObservableList<Screening> getScreeningFor() {
+        return aShowroomService.getScreeningFor(aMovie);
+    }
+
+    /**
+     * Reads every screening of one movie, the way the statistics view lists them.
+     */
+    @Benchmark
+    public int iterateScreeningsFor() {
+        int tickets = 0;
+        for (Screening screening : aShowroomService.getScreeningFor(aMovie)) {
+            tickets += screening.getTicketCount();
+        }
+        return tickets;
+    }
+}
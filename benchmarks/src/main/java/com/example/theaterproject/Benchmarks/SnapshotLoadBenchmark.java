@@ -0,0 +1,70 @@
+package com.example.theaterproject.Benchmarks;
+
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Services.MovieService;
+import com.example.theaterproject.Services.ShowroomService;
+import com.example.theaterproject.Services.SnapshotService;
+import javafx.collections.FXCollections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SnapshotService#load(Path)}, the restore done on startup, against a growing
+ * number of screenings. The target is to restore 100,000 screenings in well under a second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotLoadBenchmark {
+
+    /**
+     * Total number of screenings in the snapshot, spread over the showrooms.
+     */
+    @Param({"1000", "100000"})
+    public int aSize;
+
+    private final SnapshotService aSnapshotService = SnapshotService.getInstance();
+    private Path aFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Movie> movies = TheaterData.movies(TheaterData.aMovieCount);
+        MovieService.getInstance().setMovies(FXCollections.observableArrayList(movies));
+        ShowroomService.getInstance().setShowrooms(TheaterData.showrooms(aSize, movies));
+        aFile = Files.createTempFile("snapshot", ".bin");
+        aSnapshotService.write(aFile, aSnapshotService.encode(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(aFile);
+    }
+
+    /**
+     * Restores the movies, showrooms and screenings of the snapshot into the services.
+     */
+    @Benchmark
+    public long load() throws IOException {
+        return aSnapshotService.load(aFile);
+    }
+}
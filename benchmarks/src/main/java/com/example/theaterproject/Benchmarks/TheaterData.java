@@ -0,0 +1,65 @@
+package com.example.theaterproject.Benchmarks;
+
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.Showroom;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the data sets the benchmarks run against.
+ */
+final class TheaterData {
+
+    /**
+     * Number of distinct movies screened in the showroom benchmarks.
+     */
+    static final int aMovieCount = 50;
+
+    /**
+     * Number of screenings scheduled per showroom.
+     */
+    static final int aScreeningsPerShowroom = 10_000;
+
+    private TheaterData() {
+    }
+
+    /**
+     * Creates movies with distinct titles and runtimes between 80 and 139 minutes.
+     */
+    static List<Movie> movies(int pCount) {
+        List<Movie> movies = new ArrayList<>(pCount);
+        for (int i = 0; i < pCount; i++) {
+            movies.add(new Movie("Movie " + i, 80 + i % 60));
+        }
+        return movies;
+    }
+
+    /**
+     * Creates non-overlapping screenings three hours apart, cycling through the given movies.
+     */
+    static List<Screening> screenings(int pCount, List<Movie> pMovies) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Screening> screenings = new ArrayList<>(pCount);
+        for (int i = 0; i < pCount; i++) {
+            screenings.add(new Screening(pMovies.get(i % pMovies.size()), 100, 1200, start.plusHours(3L * i)));
+        }
+        return screenings;
+    }
+
+    /**
+     * Creates showrooms holding the given number of screenings in total.
+     */
+    static ObservableList<Showroom> showrooms(int pScreeningCount, List<Movie> pMovies) {
+        ObservableList<Showroom> showrooms = FXCollections.observableArrayList();
+        for (int remaining = pScreeningCount; remaining > 0; remaining -= aScreeningsPerShowroom) {
+            List<Screening> screenings = screenings(Math.min(remaining, aScreeningsPerShowroom), pMovies);
+            showrooms.add(new Showroom("Room " + showrooms.size(), 200, FXCollections.observableArrayList(screenings)));
+        }
+        return showrooms;
+    }
+}
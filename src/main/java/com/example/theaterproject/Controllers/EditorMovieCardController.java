@@ -1,16 +1,25 @@
 package com.example.theaterproject.Controllers;
 
 import com.example.theaterproject.Models.Movie;
-import javafx.fxml.FXML;
+import javafx.geometry.Insets;
 import javafx.scene.control.Button;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.control.Label;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
 
 /**
  * Controls the behavior and display of a movie card in the editor interface.
  *
  * This class is responsible for binding a Movie object to a user interface card and
  * providing functionality for editing and removing the movie through user actions.
+ *
+ * The editor shows a card for every movie, so cards are built in code by {@link #create()}
+ * rather than loaded from an FXML file.
  */
 public class EditorMovieCardController {
 
@@ -18,42 +27,38 @@ public class EditorMovieCardController {
      * Represents the root layout container for the user interface of the editor movie card.
      *
      * This VBox serves as the top-level container for organizing the layout of the movie card’s
-     * visual elements and controls within the application. It is an FXML-injected field and is
+     * visual elements and controls within the application. It is
      * primarily used for grouping child components such as labels, buttons, and other UI elements
      * related to a specific movie card.
      */
-    @FXML
     private VBox aRoot;
     /**
      * Displays the title of the movie associated with this movie card.
      *
-     * This FXML-injected Label element is bound to the corresponding Movie object
+     * This Label element is bound to the corresponding Movie object
      * and dynamically updated to reflect the title of the movie being represented
      * by the EditorMovieCardController. It serves as a key visual element in the
      * user interface, allowing users to identify the movie associated with the
      * editor card.
      */
-    @FXML
     private Label aMovieTitleLabel;
     /**
      * Represents a button for editing the movie associated with this editor movie card.
      *
-     * This FXML-injected Button element allows users to initiate the editing process for the movie
+     * This Button element allows users to initiate the editing process for the movie
      * represented by the EditorMovieCardController. The edit action is configured dynamically using
      * the {@link #setData(Movie, Runnable, Runnable)} method, where a provided Runnable is executed
      * when the button is clicked.
      */
-    @FXML
     private Button aEditButton;
     /**
      * Represents a button for removing the movie associated with this editor movie card.
      *
-     * This FXML-injected Button element triggers the removal action for the movie
+     * This Button element triggers the removal action for the movie
      * represented by the EditorMovieCardController. The removal behavior is dynamically
      * configured using the {@link #setData(Movie, Runnable, Runnable)} method, where a
      * provided Runnable is executed when the button is clicked.
      */
-    @FXML
     private Button aRemoveButton;
     /**
      * Holds a Movie object associated with the editor movie card.
@@ -66,6 +71,68 @@ public class EditorMovieCardController {
      */
     private Movie aMovie;
 
+    /**
+     * Builds a new editor movie card along with its controller.
+     *
+     * @return the controller of the new card, whose root node is returned by {@link #getRoot()}
+     */
+    public static EditorMovieCardController create() {
+        EditorMovieCardController controller = new EditorMovieCardController();
+
+        ImageView poster = new ImageView();
+        poster.setFitHeight(165.0);
+        poster.setFitWidth(140.0);
+        poster.setPickOnBounds(true);
+        poster.setPreserveRatio(true);
+        VBox.setVgrow(poster, Priority.NEVER);
+
+        controller.aMovieTitleLabel = new Label("Movie Title");
+        controller.aMovieTitleLabel.setFont(new Font("System Bold", 18.0));
+
+        VBox frame = new VBox(poster, controller.aMovieTitleLabel);
+        frame.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        frame.setPrefSize(150.0, 225.0);
+        frame.setMaxSize(150.0, 225.0);
+        frame.setStyle("-fx-border-radius: 10; -fx-border-color: black; -fx-border-width: 2;");
+        frame.setPadding(new Insets(5.0));
+
+        controller.aEditButton = createButton("Edit");
+        controller.aRemoveButton = createButton("Remove");
+        controller.aRemoveButton.setStyle("-fx-background-color: #540808;");
+        controller.aRemoveButton.setTextFill(Color.WHITE);
+
+        HBox buttons = new HBox(controller.aEditButton, controller.aRemoveButton);
+        buttons.setPrefSize(155.0, 40.0);
+
+        VBox root = new VBox(frame, buttons);
+        root.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        root.setPrefSize(160.0, 265.0);
+        root.setMaxSize(165.0, 325.0);
+        root.setPadding(new Insets(5.0));
+        controller.aRoot = root;
+        return controller;
+    }
+
+    /**
+     * Builds one of the action buttons of a card.
+     */
+    private static Button createButton(String pText) {
+        Button button = new Button(pText);
+        button.setMnemonicParsing(false);
+        button.setPrefSize(70.0, 25.0);
+        HBox.setMargin(button, new Insets(5.0, 5.0, 0.0, 5.0));
+        return button;
+    }
+
+    /**
+     * Retrieves the root node of the card.
+     *
+     * @return the card
+     */
+    public VBox getRoot() {
+        return aRoot;
+    }
+
     /**
      * Updates the data displayed in the user interface with the specified movie
      * and sets up actions for editing and removing the movie.
@@ -1,25 +1,28 @@
 package com.example.theaterproject.Controllers;
 
 import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Services.CommandService;
 import com.example.theaterproject.Services.MovieService;
 import com.example.theaterproject.Services.UIService;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.TilePane;
 import javafx.geometry.Pos;
-import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 public class EditorViewController {
@@ -32,7 +35,7 @@ public class EditorViewController {
      * This pane displays movie cards in a flexible grid-like layout. The number
      * of columns adjusts based on constraints of the pane or viewport width.
      *
-     * The movie cards are populated from an associated movie-card-view.fxml file.
+     * The movie cards are built by {@link EditorMovieCardController#create()}.
      * Each card is loaded with movie-specific data such as title or other attributes.
      *
      * This component is typically updated during initialization or when new movie
@@ -65,6 +68,7 @@ public class EditorViewController {
      * consistent source of movie data.
      */
     private final MovieService aMovieService = MovieService.getInstance();
+    private final CommandService aCommandService = CommandService.getInstance();
 
     private final UIService aUIService = UIService.getInstance();
 
@@ -80,8 +84,8 @@ public class EditorViewController {
     /**
      * Represents the default width of individual movie cards in the movie grid view.
      *
-     * This value corresponds to the preferred width defined in the associated FXML file
-     * (editor-movie-card-view.fxml) and is used to ensure consistency in the layout of
+     * This value corresponds to the preferred width of the cards built by
+     * {@link EditorMovieCardController#create()} and is used to ensure consistency in the layout of
      * movie cards across the application.
      *
      * It is commonly referenced in calculations for grid adjustment and layout updates
@@ -89,6 +93,17 @@ public class EditorViewController {
      */
     private static final double CARD_TILE_WIDTH = 160.0;
 
+    /**
+     * Patches the grid when the movies change, including while this view is hidden but kept
+     * alive for later. Registered weakly, so the view can be garbage collected once dropped.
+     */
+    private final ListChangeListener<Movie> aMoviesListener = this::applyChange;
+
+    /**
+     * Controllers of the cards in the grid, in the same order as the cards.
+     */
+    private final List<EditorMovieCardController> aCardControllers = new ArrayList<>();
+
     /**
      * Initializes the editor view when it is first loaded. This method is invoked automatically
      * by the FXML loader.
@@ -124,6 +139,7 @@ public class EditorViewController {
         }
         aMovies = aMovieService.getMovies();
         populateGrid(aMovies);
+        aMovies.addListener(new WeakListChangeListener<>(aMoviesListener));
     }
 
     /**
@@ -156,63 +172,122 @@ public class EditorViewController {
      */
     private void populateGrid(ObservableList<Movie> movies) {
         aMovieGridPane.getChildren().clear();
+        aCardControllers.clear();
 
         if (movies == null || movies.isEmpty()) return;
 
-        for (Movie movie : movies) {
-            try {
-                FXMLLoader loader = aUIService.loadFXML("editor-movie-card-view");
-
-                VBox card = loader.getRoot();
-                EditorMovieCardController cardController = loader.getController();
-
-                if (cardController != null) {
-                    cardController.setData(
-                            movie,
-
-                            // EDIT ACTION: switch to Add/Edit view and close Editor view (same window)
-                            () -> {
-                                try {
-                                    FXMLLoader editLoader = aUIService.loadFXML("add-edit-movie-view");
-                                    Parent root = editLoader.getRoot();
-                                    MovieAddEditViewController editController = editLoader.getController();
-                                    if (editController != null) {
-                                        editController.setEditingMovie(movie);
-                                    }
-
-                                    // Replace current scene so the editor window is effectively closed
-                                    Stage stage = (Stage) aMovieGridPane.getScene().getWindow();
-                                    stage.setScene(new Scene(root));
-                                    stage.show();
-                                } catch (IOException ex) {
-                                    aUIService.showErrorAlert("Error", "Failed to load movie editor: " + ex.getMessage());
-                                }
-                            },
-
-                            // REMOVE ACTION with confirmation
-                            () -> {
-                                Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
-                                confirm.setTitle("Confirm Deletion");
-                                confirm.setHeaderText(null);
-                                confirm.setContentText("Remove '" + movie.getTitle() + "'? This cannot be undone.");
-                                Optional<ButtonType> result = confirm.showAndWait();
-                                if (result.isPresent() && result.get() == ButtonType.OK) {
-                                    aMovieService.removeMovie(movie);
-                                    populateGrid(aMovies);
-                                }
-                            }
-                    );
-                }
-
-                // TilePane handles layout and spacing; just add the card
-                aMovieGridPane.getChildren().add(card);
+        addCards(0, movies);
+    }
 
-            } catch (IOException e) {
-                aUIService.showErrorAlert("Error", "Failed to load movie card: " + e.getMessage());
+    /**
+     * Patches the movie grid to follow a change of the movie list. Only the cards of the
+     * movies added, removed, replaced or moved are touched: a replaced movie is shown by
+     * rebinding the card that showed the old one, so editing a movie updates a single card.
+     *
+     * @param pChange the change of the movie list
+     */
+    private void applyChange(ListChangeListener.Change<? extends Movie> pChange) {
+        ObservableList<Node> cards = aMovieGridPane.getChildren();
+        while (pChange.next()) {
+            int from = pChange.getFrom();
+            if (pChange.wasPermutated()) {
+                // move the cards of the permuted range to their new positions
+                int to = pChange.getTo();
+                Node[] movedCards = new Node[to - from];
+                EditorMovieCardController[] movedControllers = new EditorMovieCardController[to - from];
+                for (int i = from; i < to; i++) {
+                    movedCards[pChange.getPermutation(i) - from] = cards.get(i);
+                    movedControllers[pChange.getPermutation(i) - from] = aCardControllers.get(i);
+                }
+                cards.remove(from, to);
+                cards.addAll(from, Arrays.asList(movedCards));
+                aCardControllers.subList(from, to).clear();
+                aCardControllers.addAll(from, Arrays.asList(movedControllers));
+            } else if (pChange.wasUpdated()) {
+                for (int i = from; i < pChange.getTo(); i++) {
+                    bindCard(aCardControllers.get(i), aMovies.get(i));
+                }
+            } else {
+                // rebind the cards of replaced movies, then remove or add the cards left over
+                List<? extends Movie> added = pChange.getAddedSubList();
+                int rebound = Math.min(pChange.getRemovedSize(), added.size());
+                for (int i = 0; i < rebound; i++) {
+                    bindCard(aCardControllers.get(from + i), added.get(i));
+                }
+                if (pChange.getRemovedSize() > rebound) {
+                    int end = from + pChange.getRemovedSize();
+                    cards.remove(from + rebound, end);
+                    aCardControllers.subList(from + rebound, end).clear();
+                }
+                if (added.size() > rebound) {
+                    addCards(from + rebound, added.subList(rebound, added.size()));
+                }
             }
         }
     }
 
+    /**
+     * Creates cards for movies and inserts them into the grid at a given position.
+     *
+     * @param pIndex  the position of the first new card
+     * @param pMovies the movies to create cards for
+     */
+    private void addCards(int pIndex, List<? extends Movie> pMovies) {
+        List<Node> newCards = new ArrayList<>(pMovies.size());
+        List<EditorMovieCardController> newControllers = new ArrayList<>(pMovies.size());
+        for (Movie movie : pMovies) {
+            EditorMovieCardController cardController = EditorMovieCardController.create();
+            bindCard(cardController, movie);
+            newControllers.add(cardController);
+            newCards.add(cardController.getRoot());
+        }
+
+        // TilePane handles layout and spacing; just add the cards
+        aMovieGridPane.getChildren().addAll(pIndex, newCards);
+        aCardControllers.addAll(pIndex, newControllers);
+    }
+
+    /**
+     * Binds a card to a movie, along with the actions for editing and removing it.
+     *
+     * @param pCardController the controller of the card
+     * @param pMovie          the movie to show
+     */
+    private void bindCard(EditorMovieCardController pCardController, Movie pMovie) {
+        pCardController.setData(
+                pMovie,
+
+                // EDIT ACTION: switch to Add/Edit view in place of the Editor view (same window)
+                () -> {
+                    try {
+                        FXMLLoader editLoader = aUIService.loadFXML("add-edit-movie-view");
+                        Parent root = editLoader.getRoot();
+                        MovieAddEditViewController editController = editLoader.getController();
+                        if (editController != null) {
+                            editController.setEditingMovie(pMovie);
+                        }
+
+                        // Show the movie editor in place of this view
+                        aUIService.showRoot(root, "Edit Movie");
+                    } catch (IOException ex) {
+                        aUIService.showErrorAlert("Error", "Failed to load movie editor: " + ex.getMessage());
+                    }
+                },
+
+                // REMOVE ACTION with confirmation; the grid follows the change of the movie list
+                () -> {
+                    Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+                    confirm.setTitle("Confirm Deletion");
+                    confirm.setHeaderText(null);
+                    confirm.setContentText("Remove '" + pMovie.getTitle() + "'? This cannot be undone.");
+                    Optional<ButtonType> result = confirm.showAndWait();
+                    if (result.isPresent() && result.get() == ButtonType.OK) {
+                        aCommandService.execute(() -> aMovieService.removeMovie(pMovie));
+                    }
+                }
+        );
+    }
+
 
     /**
      * Handles the "Add Movie" button click event.
@@ -222,19 +297,19 @@ public class EditorViewController {
      */
     @FXML
     private void onAddMovieButtonClick(ActionEvent pEvent) {
-        switchView(pEvent, "add-edit-movie-view");
+        switchView("add-edit-movie-view", "Add Movie");
     }
 
     /**
      * Handles the "Showrooms View" button click event.
-     * Opens the showrooms view in a new window.
+     * Shows the showrooms view in place of this one.
      *
      * @param pEvent the action event triggered by the button
      */
     @FXML
     private void onShowroomsViewButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("showrooms-view", "Showrooms", pEvent, 900, 700);
+            aUIService.showView("showrooms-view", "Showrooms", 900, 700);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", e.getMessage());
         }
@@ -242,14 +317,14 @@ public class EditorViewController {
 
     /**
      * Handles the "Stats View" button click event.
-     * Opens the statistics view in a new window.
+     * Shows the statistics view in place of this one.
      *
      * @param pEvent the action event triggered by the button
      */
     @FXML
     private void onStatsViewButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("stats-view", "Showrooms", pEvent, 700, 500);
+            aUIService.showView("stats-view", "Showrooms", 700, 500);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", e.getMessage());
         }
@@ -257,24 +332,17 @@ public class EditorViewController {
 
 
     /**
-     * Switches the current view to the view specified by the provided FXML file path.
-     * The method loads the specified FXML file, sets it as the scene for the current stage,
-     * and displays the updated stage.
+     * Switches the current view to a fresh instance of the view specified by the provided FXML file,
+     * in the same window, sized to its preferred size.
      *
-     * @param pEvent    the {@code ActionEvent} that triggered the view switch. Used to retrieve
-     *                 the current stage from the pEvent source.
-     * @param pFileName the path to the FXML file that defines the new view to be loaded.
+     * @param pFileName the FXML file that defines the new view to be loaded.
      *                 It should be a valid path within the application's resources.
+     * @param pTitle    the title of the window while the view is shown
      */
-    private void switchView(ActionEvent pEvent, String pFileName) {
+    private void switchView(String pFileName, String pTitle) {
         try {
             FXMLLoader loader = aUIService.loadFXML(pFileName);
-            Parent root = loader.getRoot();
-
-            Stage stage = (Stage) ((Node) pEvent.getSource()).getScene().getWindow();
-            stage.setScene(new Scene(root));
-            stage.show();
-
+            aUIService.showRoot(loader.getRoot(), pTitle);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", "Failed to load view: " + e.getMessage());
         }
@@ -282,14 +350,15 @@ public class EditorViewController {
 
     /**
      * Handles the sign out button click event.
-     * Opens the login view and closes the current window.
+     * Shows the login view in place of the current one and drops the cached views.
      *
      * @param pEvent the action event triggered by the sign out button
      */
     @FXML
     private void onSignOutButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("login-view", "Log In", pEvent, 600, 300);
+            aUIService.discardRetainedViews();
+            aUIService.openView("login-view", "Log In", 600, 300);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", e.getMessage());
         }
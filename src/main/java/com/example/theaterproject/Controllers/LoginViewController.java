@@ -1,15 +1,19 @@
 package com.example.theaterproject.Controllers;
 
+import com.example.theaterproject.Helpers.StartupTimeline;
 import com.example.theaterproject.Models.Account;
 import com.example.theaterproject.Models.Manager;
 import com.example.theaterproject.Services.AccountService;
 import com.example.theaterproject.Services.UIService;
+import javafx.animation.PauseTransition;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
+import javafx.util.Duration;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * The LoginViewController class is responsible for managing the login interface
@@ -20,6 +24,12 @@ import java.io.IOException;
  * while managing the transition to different views based on the user's role.
  * It interacts with the {@code AccountService} to validate credentials.
  * </p>
+ *
+ * <p>
+ * While the login form is shown, the dashboards are prepared in the background, and
+ * whenever the form sits idle the dashboard the user will most likely open is loaded
+ * ahead of time, so signing in switches to it at once.
+ * </p>
  */
 public class LoginViewController {
     /**
@@ -47,10 +57,55 @@ public class LoginViewController {
     AccountService aAccountService = AccountService.getInstance();
     private final UIService aUIService = UIService.getInstance();
 
+    /**
+     * Fires once the login form has been left untouched for a moment, to preload the likely dashboard.
+     */
+    private final PauseTransition aIdleTimer = new PauseTransition(Duration.millis(300));
+
+    /**
+     * Initializes the login view. This method is automatically invoked when the associated FXML
+     * is loaded. It starts preparing both dashboards on a background thread, and preloads the
+     * dashboard matching the username entered whenever the form becomes idle.
+     */
+    @FXML
+    private void initialize() {
+        aUIService.warmUp(List.of("main-view", "editor-view"), () -> {
+            MovieCardController.create();
+            EditorMovieCardController.create();
+        });
+
+        aIdleTimer.setOnFinished(event -> preloadDashboard());
+        aUsernameTextField.textProperty().addListener((obs, oldValue, newValue) -> aIdleTimer.playFromStart());
+        aPasswordField.textProperty().addListener((obs, oldValue, newValue) -> aIdleTimer.playFromStart());
+        aIdleTimer.playFromStart();
+    }
+
+    /**
+     * Preloads the dashboard the user will most likely open: the editor for the manager,
+     * the client dashboard for anybody else.
+     */
+    private void preloadDashboard() {
+        try {
+            aUIService.preloadFXML(getDashboard(aUsernameTextField.getText()));
+        } catch (IOException e) {
+            // the error is reported if the user signs in anyway
+        }
+    }
+
+    /**
+     * Determines the dashboard opened by a user.
+     *
+     * @param pUsername the username of the user
+     * @return the FXML file name of the dashboard
+     */
+    private String getDashboard(String pUsername) {
+        return aAccountService.getManager().getUserName().equals(pUsername) ? "editor-view" : "main-view";
+    }
+
     /**
      * Handles the click event for the "Sign In" button. Authenticates the user based on the entered
      * username and password. If the credentials match a manager account, the manager's dashboard is opened.
-     * Otherwise, the main dashboard is shown. Closes the login window after successful navigation.
+     * Otherwise, the main dashboard is shown, in place of the login view.
      *
      * @param pEvent the action event triggered by clicking the "Sign In" button
      */
@@ -75,13 +130,20 @@ public class LoginViewController {
                 return;
             }
 
+            StartupTimeline.mark("Signed in");
+            aIdleTimer.stop();
+
             // Check if user is a manager
             if (authenticatedUser instanceof Manager) {
-                aUIService.openNewWindow("editor-view", "Theater Dashboard", pEvent, 900,700);
+                aUIService.showView("editor-view", "Theater Dashboard", 900, 700);
             } else {
                 // User is a client
-                aUIService.openNewWindow("main-view", "Theater Dashboard", pEvent, 700, 400);
+                aUIService.showView("main-view", "Theater Dashboard", 700, 400);
             }
+            aUIService.discardPreloadedViews();
+
+            StartupTimeline.mark("Dashboard shown");
+            StartupTimeline.log();
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", "An error occurred while loading the dashboard: " + e.getMessage());
         }
@@ -89,16 +151,16 @@ public class LoginViewController {
 
 
     /**
-     * Handles the click event for the "New Account" button. Opens the "New Account" window
-     * by loading the corresponding FXML file and displays it in a new stage. Closes the current
-     * login window after successfully opening the "New Account" window.
+     * Handles the click event for the "New Account" button. Shows a fresh "New Account"
+     * form in place of the login view.
      *
      * @param pEvent the action event triggered by clicking the "New Account" button
      */
     @FXML
     private void onNewAccountButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("new-account-view", "New Account", pEvent);
+            aIdleTimer.stop();
+            aUIService.openView("new-account-view", "New Account", UIService.aDefaultScreenWidth, UIService.aDefaultScreenHeight);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", e.getMessage());
         }
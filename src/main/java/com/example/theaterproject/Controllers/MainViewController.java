@@ -1,48 +1,55 @@
 package com.example.theaterproject.Controllers;
 
 import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Services.EventService;
 import com.example.theaterproject.Services.MovieService;
 import com.example.theaterproject.Services.UIService;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.layout.GridPane;
 import javafx.geometry.Insets;
-import javafx.scene.control.Labeled;
-import javafx.collections.ListChangeListener;
+import javafx.scene.Parent;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
 
 import java.io.IOException;
-import java.net.URL;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The MainViewController class is responsible for managing the main view of the application.
  *
  * <p>
- * This class loads and displays a grid of movie cards and handles user interactions such as
- * signing out. It primarily interacts with the {@code movieGridPane} to display movie information
+ * This class displays a grid of movie cards and handles user interactions such as
+ * signing out. It primarily interacts with the {@code aMovieGridView} to display movie information
  * and utilizes the {@code MovieService} singleton to retrieve the list of movies.
  * It uses FXML annotations for initializing and managing UI elements.
  * </p>
+ *
+ * <p>
+ * The grid is virtualized: it is a {@link ListView} whose items are row numbers, and each
+ * row cell shows the movies of its row. Only the rows in view get cells, and the list view
+ * reuses those cells, along with their movie cards, as the user scrolls. Changing the movie
+ * list only adds or removes rows at the end and rebinds the cells showing the rows from the
+ * first movie changed on; changing the width of the view rebinds every cell. Either way only
+ * the cells in view are touched, so opening and scrolling the view costs the same whatever
+ * the size of the catalog.
+ * </p>
  */
 public class MainViewController {
     /**
-     * Represents a grid pane used to display a collection of movies in the main view.
-     *
-     * This field is linked to the FXML file associated with the MainViewController and is used
-     * to create a structured layout of movie-related components or information.
+     * Represents the virtualized grid used to display a collection of movies in the main view.
      *
-     * The grid pane is populated dynamically with movie data, where each movie is represented
-     * as a visual component within the pane. It allows seamless organization and presentation
-     * of movies in a grid-based arrangement.
-     *
-     * This field is initialized and managed as part of the application's user interface for
-     * displaying movies to the user.
+     * This field is linked to the FXML file associated with the MainViewController. Each of its
+     * items is the number of a row of movies, rendered by a {@link MovieRowCell}.
      */
     @FXML
-    private GridPane aMovieGridPane;
+    private ListView<Integer> aMovieGridView;
     /**
      * Represents a singleton instance of the {@link MovieService} class,
      * which provides centralized management of movie-related data within the application.
@@ -55,107 +62,196 @@ public class MainViewController {
 
     private final UIService aUiService = UIService.getInstance();
 
+    /**
+     * The row numbers displayed by {@link #aMovieGridView}, from 0 to the row count minus one.
+     */
+    private final ObservableList<Integer> aRows = FXCollections.observableArrayList();
+
+    /**
+     * The row cells created by {@link #aMovieGridView}, which it reuses for the rows in view.
+     */
+    private final List<MovieRowCell> aCells = new ArrayList<>();
+
+    /**
+     * The number of movie cards shown on each row, derived from the width of the view.
+     */
+    private int aColumns = DEFAULT_COLUMNS;
+
+    /**
+     * Position of the first movie changed since the rows were last updated, or
+     * {@link Integer#MAX_VALUE} if none changed.
+     */
+    private int aFirstChangedMovie = Integer.MAX_VALUE;
+
+    /**
+     * Records the first movie changed; the movies after it moved or changed too. Held weakly
+     * by the movie list, like {@link #aEventListener}.
+     */
+    private final ListChangeListener<Movie> aMovieListener = change -> {
+        while (change.next()) {
+            aFirstChangedMovie = Math.min(aFirstChangedMovie, change.getFrom());
+        }
+    };
+
+    /**
+     * Updates the rows, once per delivery of events, when the movies changed. Held weakly by
+     * the event service, so a view that is no longer shown, such as one preloaded but never
+     * opened, can be garbage collected.
+     */
+    private final Consumer<List<EventService.Event>> aEventListener = events -> {
+        if (events.contains(new EventService.MoviesChanged())) {
+            updateRows(aFirstChangedMovie / aColumns);
+        }
+    };
+
+    /**
+     * Number of columns used until the view has been laid out.
+     */
+    private static final int DEFAULT_COLUMNS = 3;
+
+    /**
+     * Width taken by a movie card, matching the cards built by {@link MovieCardController#create()}.
+     */
+    private static final double CARD_WIDTH = 160.0;
+
+    /**
+     * Space between two cards of a row and between two rows.
+     */
+    private static final double CARD_GAP = 20.0;
+
     /**
      * Initializes the main view controller. This method is automatically invoked
-     * when the associated FXML is loaded. It prepares the view by populating the
-     * grid with movie cards using the current list of movies provided by the
-     * movieService.
+     * when the associated FXML is loaded. It sets up the virtualized grid over the
+     * current list of movies provided by the movieService.
      */
     @FXML
     private void initialize() {
-        // Get the underlying observable list from MovieService to listen to changes
-        ObservableList<Movie> movies = aMovieService.getMovies();
-        
+        aMovieGridView.setItems(aRows);
+        aMovieGridView.setCellFactory(view -> {
+            MovieRowCell cell = new MovieRowCell();
+            aCells.add(cell);
+            return cell;
+        });
+        aMovieGridView.setFocusTraversable(false);
+
         // Populate initially with whatever movies are available
-        populateGrid(movies);
-        
-        // Listen for changes to the movie list and refresh grid when movies are added
-        movies.addListener((ListChangeListener<Movie>) change -> {
-            populateGrid(movies);
+        updateRows(0);
+
+        // Only the row count and the visible cards change when the movies change
+        aMovieService.getMovies().addListener(new WeakListChangeListener<>(aMovieListener));
+        EventService.getInstance().addListener(aEventListener);
+
+        // Fit as many cards on a row as the width allows
+        aMovieGridView.widthProperty().addListener((observable, oldWidth, newWidth) -> {
+            int columns = Math.max(1, (int) ((newWidth.doubleValue() - CARD_GAP) / (CARD_WIDTH + CARD_GAP)));
+            if (columns != aColumns) {
+                aColumns = columns;
+                updateRows(0);
+            }
         });
     }
 
     /**
-     * Populates the grid pane with movie cards based on the provided list of pMovies.
-     * Each movie is represented as a card created from an FXML template.
-     * The grid is cleared before populating it with the new set of movie cards.
+     * Sets the number of rows from the number of movies and columns, and rebinds the cells
+     * showing the rows that changed. Only the rows added or removed at the end of the list are
+     * touched; the other rows keep their item, and the cells in view showing one of them from
+     * the first changed row on are rebound in place.
      *
-     * @param pMovies the list of pMovies to be displayed in the grid. If the list is null
-     *               or empty, the grid will not be populated.
+     * @param pFirstChangedRow the first row whose movies may have changed
      */
-    private void populateGrid(javafx.collections.ObservableList<Movie> pMovies) {
-        aMovieGridPane.getChildren().clear();
-
-        if (pMovies == null || pMovies.isEmpty()) {
-            return;
+    private void updateRows(int pFirstChangedRow) {
+        aFirstChangedMovie = Integer.MAX_VALUE;
+        int rowCount = (aMovieService.getMovies().size() + aColumns - 1) / aColumns;
+        if (rowCount < aRows.size()) {
+            aRows.remove(rowCount, aRows.size());
+        } else if (rowCount > aRows.size()) {
+            List<Integer> added = new ArrayList<>(rowCount - aRows.size());
+            for (int row = aRows.size(); row < rowCount; row++) {
+                added.add(row);
+            }
+            aRows.addAll(added);
         }
+        for (MovieRowCell cell : aCells) {
+            Integer row = cell.getItem();
+            if (!cell.isEmpty() && row != null && row >= pFirstChangedRow && row < rowCount) {
+                cell.bind(row);
+            }
+        }
+    }
+
+    /**
+     * A cell of the movie grid showing one row of movie cards.
+     *
+     * <p>
+     * The cards of a cell are built once, when the cell first needs them, and are rebound to
+     * other movies through their {@link MovieCardController} as the cell is reused.
+     * </p>
+     */
+    private class MovieRowCell extends ListCell<Integer> {
+        private final HBox aRowBox = new HBox(CARD_GAP);
+        private final List<MovieCardController> aCardControllers = new ArrayList<>();
 
-        // Determine number of columns from GridPane constraints if present, otherwise default to 3
-        int columns = 3;
-        if (aMovieGridPane.getColumnConstraints() != null && !aMovieGridPane.getColumnConstraints().isEmpty()) {
-            columns = aMovieGridPane.getColumnConstraints().size();
+        MovieRowCell() {
+            aRowBox.setPadding(new Insets(CARD_GAP / 2, CARD_GAP / 2, CARD_GAP / 2, CARD_GAP / 2));
+            setStyle("-fx-background-color: transparent; -fx-padding: 0;");
         }
 
-        int index = 0;
-        for (Movie movie : pMovies) {
-            try {
-                // Load via UIService using application resource path
-                FXMLLoader loader = aUiService.loadFXML("movie-card-view");
-                Parent card = loader.getRoot();
-
-                // If the FXML declares a controller, and it supports setaMovie, use it.
-                Object cardController = loader.getController();
-                if (cardController != null) {
-                    try {
-                        // Try to call setaMovie reflectively (keeps coupling low)
-                        java.lang.reflect.Method setMovie = cardController.getClass().getMethod("setaMovie", Movie.class);
-                        setMovie.invoke(cardController, movie);
-                    } catch (NoSuchMethodException name) {
-                        // Controller exists but does not have setaMovie(Movie) - fall back to namespace below
-                    } catch (Exception ex) {
-                        // Reflection invocation problem - print and continue with fallback
-                        ex.printStackTrace();
-                    }
-                }
+        @Override
+        protected void updateItem(Integer pRow, boolean pEmpty) {
+            super.updateItem(pRow, pEmpty);
+            if (pEmpty || pRow == null) {
+                setGraphic(null);
+                return;
+            }
+            bind(pRow);
+        }
 
-                // If controller was null or did not set the title, attempt namespace-based label injection as fallback
-                Map<String, Object> ns = loader.getNamespace();
-                Object titleObj = ns.get("aMovieTitleLabel");
-                Object screeningObj = ns.get("aScreeningTimeLabel");
+        /**
+         * Shows the movies of a row on the cards of this cell.
+         *
+         * @param pRow the row shown by this cell
+         */
+        void bind(int pRow) {
+            ObservableList<Movie> movies = aMovieService.getMovies();
+            int first = pRow * aColumns;
+            int count = Math.max(0, Math.min(aColumns, movies.size() - first));
+            while (aCardControllers.size() < count) {
+                addCard();
+            }
 
-                if (titleObj instanceof Labeled) {
-                    ((Labeled) titleObj).setText(movie.getTitle());
+            for (int i = 0; i < aCardControllers.size(); i++) {
+                Parent card = (Parent) aRowBox.getChildren().get(i);
+                boolean used = i < count;
+                card.setVisible(used);
+                card.setManaged(used);
+                if (used) {
+                    aCardControllers.get(i).setaMovie(movies.get(first + i));
                 }
-                if (screeningObj instanceof Labeled) {
-                    ((Labeled) screeningObj).setText("Screening: TBD");
-                }
-
-                int col = index % columns;
-                int row = index / columns;
-                aMovieGridPane.add(card, col, row);
-                GridPane.setMargin(card, new Insets(8));
-                index++;
-            } catch (IOException e) {
-                // Loading failed for this card; print stack trace and continue so other cards show
-                e.printStackTrace();
-            } catch (Exception e) {
-                // Catch-all to avoid one bad card breaking the grid
-                e.printStackTrace();
             }
+            setGraphic(aRowBox);
         }
 
+        /**
+         * Loads one more movie card into this row.
+         */
+        private void addCard() {
+            MovieCardController controller = MovieCardController.create();
+            aCardControllers.add(controller);
+            aRowBox.getChildren().add(controller.getRoot());
+        }
     }
 
     /**
      * Handles the sign out button click event.
-     * Opens the login view and closes the current window.
+     * Shows the login view in place of the current one and drops the cached views.
      *
      * @param pEvent the action event triggered by the sign out button
      */
     @FXML
     private void onSignOutButtonClick(ActionEvent pEvent) {
         try {
-            aUiService.openNewWindow("login-view", "Log In", pEvent, 600, 300);
+            aUiService.discardRetainedViews();
+            aUiService.openView("login-view", "Log In", 600, 300);
         } catch (IOException e) {
             aUiService.showErrorAlert("Error", e.getMessage());
         }
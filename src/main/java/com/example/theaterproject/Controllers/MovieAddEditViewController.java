@@ -1,6 +1,7 @@
 package com.example.theaterproject.Controllers;
 
 import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Services.CommandService;
 import com.example.theaterproject.Services.MovieService;
 import com.example.theaterproject.Services.UIService;
 import javafx.event.ActionEvent;
@@ -43,6 +44,7 @@ public class MovieAddEditViewController {
      * It ensures consistent access to the pMovie data across different parts of the application.
      */
     private final MovieService aMovieService = MovieService.getInstance();
+    private final CommandService aCommandService = CommandService.getInstance();
     /**
      * Represents the current pMovie being edited in the MovieAddEditViewController.
      * <p>
@@ -77,7 +79,7 @@ public class MovieAddEditViewController {
      * Handles the pEvent triggered by the Save button click.
      * Validates the input fields for pMovie title and runtime, and either adds a new pMovie or updates
      * an existing pMovie in the system. Displays error messages for invalid inputs or exceptions.
-     * Closes the current window and opens the editor view upon successful operation.
+     * Shows the editor view again upon successful operation.
      *
      * @param pEvent the ActionEvent triggered by the Save button click
      */
@@ -100,15 +102,14 @@ public class MovieAddEditViewController {
         try {
             if (aEditingMovie == null) {
                 Movie newMovie = new Movie(title, runtime);
-                aMovieService.addMovie(newMovie);
+                aCommandService.execute(() -> aMovieService.addMovie(newMovie));
             } else {
-                Movie updated = new Movie(title, runtime);
-                aMovieService.removeMovie(aEditingMovie);
-                aMovieService.addMovie(updated);
+                // the edited movie keeps the ID of the original
+                Movie updated = new Movie(aEditingMovie.getId(), title, runtime);
+                aCommandService.execute(() -> aMovieService.replaceMovie(aEditingMovie, updated));
             }
 
-            aUiService.closeWindow(pEvent);
-            aUiService.openNewWindow("editor-view", "Editor View", pEvent, 900, 700);
+            aUiService.showView("editor-view", "Editor View", 900, 700);
         } catch (Exception e) {
             aUiService.showErrorAlert("Save failed", e.getMessage());
         }
@@ -125,7 +126,7 @@ public class MovieAddEditViewController {
     private void onCancelButtonClick(ActionEvent pEvent) {
         // Navigate back to the Editor view within the same Stage
         try {
-            aUiService.openNewWindow("editor-view", "Editor View", pEvent, 900,700);
+            aUiService.showView("editor-view", "Editor View", 900, 700);
         } catch (IOException e) {
             aUiService.showErrorAlert("Navigation Error", e.getMessage());
         }
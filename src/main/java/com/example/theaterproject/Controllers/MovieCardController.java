@@ -1,50 +1,49 @@
 package com.example.theaterproject.Controllers;
 
 import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Services.ShowroomService;
 import com.example.theaterproject.Services.UIService;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Parent;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
 
 import java.io.IOException;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Controller responsible for managing the UI elements and behavior of a movie card
  * in a JavaFX application. The movie card is designed to display a movie's title,
  * screening time, and an optional poster image.
  * <p>
- * This class is intended to work with an associated FXML layout file, where UI components
- * are defined and linked to the controller using the `@FXML` annotation.
+ * Movie cards are shown by the hundreds, so rather than being loaded from an FXML file,
+ * a card is built in code by {@link #create()}, which takes microseconds instead of the
+ * milliseconds needed to parse FXML.
  */
 public class MovieCardController {
     /**
      * Label UI component used to display the title of a movie in the movie card.
-     * It is part of the FXML-defined UI and is linked to the controller with the `@FXML` annotation.
      * This label is usually populated with the movie's title when the `setaMovie` method is invoked.
      */
-    @FXML
     private Label aMovieTitleLabel;
     /**
      * Label UI component used to display the screening time of a movie in the movie card.
-     * It is part of the FXML-defined UI and is linked to the controller with the `@FXML` annotation.
-     * This label is typically populated with the movie's screening time or a placeholder value
-     * when the `setaMovie` method is invoked.
+     * It is bound to the next showtime of the movie when the `setaMovie` method is invoked,
+     * so it changes as screenings are scheduled, removed or started.
      */
-    @FXML
     private Label aScreeningTimeLabel;
     /**
      * VBox container that serves as the root element of the movie card UI.
      * It encapsulates child components such as the movie title label, screening time label,
      * and optional poster image view. This container may also handle user interactions,
      * such as click events, for the movie card.
-     * <p>
-     * This field is injected via FXML and linked to the corresponding VBox element
-     * defined in the associated FXML file.
      */
-    @FXML
     private VBox aRoot;
     /**
      * The movie associated with this controller.
@@ -57,10 +56,54 @@ public class MovieCardController {
 
     private final UIService aUIService = UIService.getInstance();
 
+    private final ShowroomService aShowroomService = ShowroomService.getInstance();
+
+    /**
+     * Formatter used to render the next showtime of the movie.
+     */
+    private static final DateTimeFormatter SHOWTIME_FORMATTER = DateTimeFormatter.ofPattern("EEE d MMM, HH:mm");
+
+    /**
+     * Builds a new movie card along with its controller.
+     *
+     * @return the controller of the new card, whose root node is returned by {@link #getRoot()}
+     */
+    public static MovieCardController create() {
+        MovieCardController controller = new MovieCardController();
+
+        controller.aMovieTitleLabel = new Label("Movie Title");
+        controller.aMovieTitleLabel.setFont(new Font("System Bold", 18.0));
+        controller.aScreeningTimeLabel = new Label("No upcoming screenings");
+
+        Button screeningsButton = new Button("See Screenings");
+        screeningsButton.setMnemonicParsing(false);
+        screeningsButton.setOnAction(controller::onSeeScreeningsButtonClick);
+
+        VBox root = new VBox(5.0, controller.aMovieTitleLabel, controller.aScreeningTimeLabel, screeningsButton);
+        root.setAlignment(Pos.CENTER);
+        root.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        root.setPrefSize(160.0, 180.0);
+        root.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        root.setStyle("-fx-border-radius: 10; -fx-border-color: black; -fx-border-width: 2;");
+        root.setPadding(new Insets(5.0));
+        controller.aRoot = root;
+        return controller;
+    }
+
+    /**
+     * Retrieves the root node of the card.
+     *
+     * @return the card
+     */
+    public VBox getRoot() {
+        return aRoot;
+    }
+
     /**
      * Updates the movie data displayed in the card view and sets up relevant UI interactions.
-     * This method updates the movie title label, sets a default value for the screening time label
-     * if no screening information is present, and assigns a mouse-click event handler for the root element.
+     * This method updates the movie title label, binds the screening time label to the next showtime
+     * of the movie, and assigns a mouse-click event handler for the root element. Cards are reused for
+     * other movies, so the label is unbound from the previous movie first.
      *
      * @param pMovie the Movie object to display in this card. If null, the card will show placeholder values.
      */
@@ -70,8 +113,15 @@ public class MovieCardController {
             aMovieTitleLabel.setText(pMovie.getTitle());
         }
         if (aScreeningTimeLabel != null) {
-            // Movie doesn't currently carry screening/time info; show placeholder or other movie data
-            aScreeningTimeLabel.setText("Screening: TBD");
+            // follow the next showtime of the movie, as kept up to date by the showroom service
+            aScreeningTimeLabel.textProperty().unbind();
+            if (pMovie == null) {
+                aScreeningTimeLabel.setText("");
+            } else {
+                aScreeningTimeLabel.textProperty().bind(aShowroomService.getNextShowtime(pMovie)
+                        .map(showtime -> "Next: " + showtime.format(SHOWTIME_FORMATTER))
+                        .orElse("No upcoming screenings"));
+            }
         }
         if (aRoot != null) {
             aRoot.setOnMouseClicked(evt -> {
@@ -96,7 +146,6 @@ public class MovieCardController {
      *
      * @param pEvent the action event triggered by clicking the "See Screenings" button
      */
-    @FXML
     private void onSeeScreeningsButtonClick(ActionEvent pEvent) {
         if (aMovie == null) {
             aUIService.showErrorAlert("Error", "No movie selected");
@@ -7,7 +7,6 @@ import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
-import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.util.regex.Pattern;
@@ -31,8 +30,8 @@ import java.util.regex.Pattern;
  *
  * <h2>Navigation</h2>
  * On successful account creation, this controller loads and shows
- * <code>/com/example/theaterproject/main-view.fxml</code> in a new {@link Stage}
- * and closes the current window.
+ * <code>/com/example/theaterproject/main-view.fxml</code> in place of the
+ * sign-up form, in the same window.
  */
 public class NewAccountViewController {
 
@@ -91,7 +90,7 @@ public class NewAccountViewController {
      *   <li>Validates required fields, email format, password match, and reserved username.</li>
      *   <li>Constructs a {@link Client} and registers it with {@link AccountService}.</li>
      *   <li>Clears input fields and shows a success alert.</li>
-     *   <li>Loads the main view and closes the current window.</li>
+     *   <li>Shows the main view in place of the sign-up form.</li>
      * </ol>
      * Any validation failure results in an error alert and an early return.
      *
@@ -141,7 +140,7 @@ public class NewAccountViewController {
 
             // direct to main view only after successful creation
             try {
-                aUiService.openNewWindow("main-view", "Theater Dashboard", pEvent, 700, 400);
+                aUiService.showView("main-view", "Theater Dashboard", 700, 400);
             } catch (IOException e) {
                 aUiService.showErrorAlert("Error", e.getMessage());
             }
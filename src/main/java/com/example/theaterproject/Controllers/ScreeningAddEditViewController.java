@@ -1,5 +1,6 @@
 package com.example.theaterproject.Controllers;
 
+import com.example.theaterproject.Helpers.MoneyHelper;
 import com.example.theaterproject.Models.Movie;
 import com.example.theaterproject.Models.Screening;
 import com.example.theaterproject.Models.Showroom;
@@ -211,12 +212,12 @@ public class ScreeningAddEditViewController {
             return false;
         }
         try {
-            double pricePerTicket = Double.parseDouble(priceText);
+            long pricePerTicket = MoneyHelper.parse(priceText);
             if (pricePerTicket < 0) {
                 aUIService.showErrorAlert("Validation Error", "Ticket price cannot be negative.");
                 return false;
             }
-            if (pricePerTicket > 9999.99) {
+            if (pricePerTicket > 999_999) {
                 aUIService.showErrorAlert("Validation Error", "Ticket price cannot exceed $9,999.99.");
                 return false;
             }
@@ -236,13 +237,16 @@ public class ScreeningAddEditViewController {
      */
     private void createScreening(Movie selectedMovie, ActionEvent pEvent) {
         int ticketCount = Integer.parseInt(this.aTicketCountTextField.getText());
-        double pricePerTicket = Double.parseDouble(this.aPriceField.getText());
+        long pricePerTicket = MoneyHelper.parse(this.aPriceField.getText());
         LocalDateTime dateTime = LocalDateTime.of(
                 this.aDatePicker.getValue(),
                 LocalTime.of(this.aHoursSpinner.getValue(), this.aMinutesSpinner.getValue())
         );
 
-        this.aResultScreening = new Screening(selectedMovie, ticketCount, pricePerTicket, dateTime);
+        // an edited screening is a copy of the original, under the same ID and with the seats already sold
+        this.aResultScreening = this.aScreening == null
+                ? new Screening(selectedMovie, ticketCount, pricePerTicket, dateTime)
+                : this.aScreening.edit(selectedMovie, ticketCount, pricePerTicket, dateTime);
 
         aUIService.closeWindow(pEvent);
     }
@@ -292,7 +296,7 @@ public class ScreeningAddEditViewController {
         this.aDatePicker.setValue(screeningDate);
         this.aHoursSpinner.getValueFactory().setValue(screeningTime.getHour());
         this.aMinutesSpinner.getValueFactory().setValue(screeningTime.getMinute());
-        this.aPriceField.setText(String.valueOf(this.aScreening.getPricePerTicket()));
+        this.aPriceField.setText(MoneyHelper.toDecimalString(this.aScreening.getPricePerTicketInCents()));
         this.aTicketCountTextField.setText(String.valueOf(this.aScreening.getTicketCount()));
     }
 
@@ -300,7 +304,7 @@ public class ScreeningAddEditViewController {
      * Populates default values for a new screening based on showroom and service settings.
      */
     private void populateNewScreeningDefaults() {
-        this.aPriceField.setText(String.valueOf(this.aShowroomService.getaDefaultTicketPrice()));
+        this.aPriceField.setText(MoneyHelper.toDecimalString(this.aShowroomService.getaDefaultTicketPriceInCents()));
         // If editing an existing showroom, use its capacity; otherwise use a default value
         if (this.aShowroom != null) {
             this.aTicketCountTextField.setText(String.valueOf(this.aShowroom.getShowroomCapacity()));
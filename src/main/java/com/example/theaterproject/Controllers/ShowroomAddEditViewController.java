@@ -1,11 +1,13 @@
 package com.example.theaterproject.Controllers;
 
 import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.ScreeningDraft;
+import com.example.theaterproject.Models.ScreeningTree;
 import com.example.theaterproject.Models.Showroom;
+import com.example.theaterproject.Models.ShowroomSchedule;
+import com.example.theaterproject.Services.CommandService;
 import com.example.theaterproject.Services.ShowroomService;
 import com.example.theaterproject.Services.UIService;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -16,7 +18,6 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 
 /**
  * Controller for the showroom add/edit dialog view.
@@ -24,7 +25,13 @@ import java.time.LocalDateTime;
  * <p>
  * This controller manages the UI for adding new showrooms or editing existing showrooms.
  * It handles showroom name and capacity input validation, and manages the list of screenings
- * for the showroom. Users can add, edit, and remove screenings from the showroom.
+ * for the showroom. Users can add, edit, and remove screenings from the showroom, and undo
+ * these edits.
+ * </p>
+ *
+ * <p>
+ * The screenings are edited in a {@link ScreeningDraft} started from the screenings the
+ * showroom publishes, without copying them, and are only applied to the showroom on save.
  * </p>
  */
 public class ShowroomAddEditViewController {
@@ -47,7 +54,12 @@ public class ShowroomAddEditViewController {
     private ListView<Screening> aScreeningList;
 
     private Showroom aShowroom;
+    /**
+     * Screenings listed in the dialog, with the edits made so far.
+     */
+    private ScreeningDraft aDraft;
     private final ShowroomService aShowroomService = ShowroomService.getInstance();
+    private final CommandService aCommandService = CommandService.getInstance();
     private final UIService aUIService = UIService.getInstance();
 
     /**
@@ -57,6 +69,17 @@ public class ShowroomAddEditViewController {
     @FXML
     public void initialize() {
         setupInputValidation();
+        setDraft(new ScreeningDraft(ScreeningTree.empty()));
+    }
+
+    /**
+     * Lists the screenings of a draft in the dialog.
+     *
+     * @param pDraft the draft to edit
+     */
+    private void setDraft(ScreeningDraft pDraft) {
+        this.aDraft = pDraft;
+        this.aScreeningList.setItems(pDraft);
     }
 
     /**
@@ -136,7 +159,20 @@ public class ShowroomAddEditViewController {
             aUIService.showErrorAlert("Selection Error", "Please select a screening to remove.");
             return;
         }
-        this.aScreeningList.getItems().remove(selectedScreening);
+        this.aDraft.removeScreening(selectedScreening);
+    }
+
+    /**
+     * Handles the undo button click event.
+     * Reverts the last screening added, edited or removed since the dialog was opened.
+     *
+     * @param pEvent the action event triggered by the undo button
+     */
+    @FXML
+    private void onUndoButtonClick(ActionEvent pEvent) {
+        if (!this.aDraft.undo()) {
+            aUIService.showErrorAlert("Undo Error", "There is no change to undo.");
+        }
     }
 
     /**
@@ -195,13 +231,13 @@ public class ShowroomAddEditViewController {
      * @param pEvent the action event (used for closing the dialog)
      */
     private void saveShowroom(String name, int capacity, ActionEvent pEvent) {
-        ObservableList<Screening> screenings = aScreeningList.getItems();
+        ScreeningDraft draft = this.aDraft;
 
         if (this.aShowroom == null) {
-            this.aShowroomService.createShowroom(name, capacity, screenings);
+            this.aCommandService.execute(() -> this.aShowroomService.createShowroom(name, capacity, draft));
             aUIService.showInfoAlert("Success", "Showroom created successfully.");
         } else {
-            this.aShowroomService.updateShowroom(this.aShowroom, name, capacity, screenings);
+            this.aCommandService.execute(() -> this.aShowroomService.updateShowroom(this.aShowroom, name, capacity, draft.getScreenings()));
             aUIService.showInfoAlert("Success", "Showroom updated successfully.");
         }
     }
@@ -218,7 +254,7 @@ public class ShowroomAddEditViewController {
         if (this.aShowroom != null) {
             this.aShowroomNameField.setText(pShowroom.getShowroomName());
             this.aCapacityTextField.setText(String.valueOf(pShowroom.getShowroomCapacity()));
-            this.aScreeningList.getItems().setAll(pShowroom.getShowroomScreenings());
+            setDraft(new ScreeningDraft(pShowroom.getScreeningsSnapshot()));
         }
     }
 
@@ -259,30 +295,16 @@ public class ShowroomAddEditViewController {
      * @param resultScreening the screening returned from the dialog
      */
     private void handleScreeningResult(Screening originalScreening, Screening resultScreening) {
-        LocalDateTime newScreeningStart = resultScreening.getDateTime();
-        LocalDateTime newScreeningEnd = newScreeningStart.plusMinutes(resultScreening.getMovie().getRuntime());
-        
-        for (Screening existingScreening : this.aScreeningList.getItems()) {
-            if (originalScreening != null && existingScreening == originalScreening) {
-                continue;
-            }
-            
-            LocalDateTime existingStart = existingScreening.getDateTime();
-            LocalDateTime existingEnd = existingStart.plusMinutes(existingScreening.getMovie().getRuntime());
-            
-            if (!(newScreeningEnd.isBefore(existingStart) || newScreeningStart.isAfter(existingEnd))) {
-                aUIService.showErrorAlert("Time Conflict", 
-                    "Cannot schedule screening from " + newScreeningStart + " to " + newScreeningEnd + ". " +
-                    "Another screening is already scheduled from " + existingStart + " to " + existingEnd + ".");
-                return;
-            }
+        Screening conflict = this.aDraft.findConflict(resultScreening, originalScreening);
+        if (conflict != null) {
+            aUIService.showErrorAlert("Time Conflict", ShowroomSchedule.conflictMessage(resultScreening, conflict));
+            return;
         }
-        
+
         if (originalScreening == null) {
-            this.aScreeningList.getItems().add(resultScreening);
+            this.aDraft.addScreening(resultScreening);
         } else {
-            int index = this.aScreeningList.getItems().indexOf(originalScreening);
-            this.aScreeningList.getItems().set(index, resultScreening);
+            this.aDraft.replaceScreening(originalScreening, resultScreening);
         }
     }
 }
\ No newline at end of file
@@ -2,21 +2,29 @@ package com.example.theaterproject.Controllers;
 
 import com.example.theaterproject.Models.Screening;
 import com.example.theaterproject.Models.Showroom;
+import com.example.theaterproject.Services.CommandService;
+import com.example.theaterproject.Services.EventService;
 import com.example.theaterproject.Services.ShowroomService;
 import com.example.theaterproject.Services.UIService;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Controller for displaying and managing individual showroom cards.
@@ -25,31 +33,119 @@ import java.time.format.DateTimeFormatter;
  * This controller displays a showroom's name and information about its earliest upcoming screening.
  * It handles user interactions such as editing or deleting the showroom.
  * </p>
+ *
+ * <p>
+ * Cards are built in code by {@link #create()} rather than loaded from an FXML file,
+ * so that showing many showrooms stays fast.
+ * </p>
  */
 public class ShowroomCardController {
-    @FXML
     /**
      * Label showing the showroom's display name.
      */
     private Label aShowRoomNameLabel;
 
-    @FXML
     /**
      * Label showing info about the next screening (movie and time).
      */
     private Label aMovieInfoLabel;
 
     private Showroom aShowRoom;
+
+    /**
+     * Whether {@link #aEventListener} is registered.
+     */
+    private boolean aListening;
+
+    /**
+     * Refreshes the card, once per delivery of events, when its showroom was renamed or its
+     * screenings changed. Held weakly by the event service, so a card that is no longer shown
+     * does not outlive its view.
+     */
+    private final Consumer<List<EventService.Event>> aEventListener = events -> {
+        if (this.aShowRoom != null && (events.contains(new EventService.ShowroomUpdated(this.aShowRoom))
+                || events.contains(new EventService.ScreeningsChanged(this.aShowRoom)))) {
+            refresh();
+        }
+    };
     private final ShowroomService aShowRoomService = ShowroomService.getInstance();
+    private final CommandService aCommandService = CommandService.getInstance();
+    private final EventService aEventService = EventService.getInstance();
     private final UIService aUIService = UIService.getInstance();
 
+    /**
+     * The root node of the card.
+     */
+    private BorderPane aRoot;
+
+    /**
+     * Formatter used to render the time of the next screening.
+     */
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * Style shared by the buttons of a card.
+     */
+    private static final String BUTTON_STYLE = "-fx-font-size: 12; -fx-padding: 0; -fx-background-color: #540808; "
+            + "-fx-text-fill: white; -fx-background-radius: 10;";
+
+    /**
+     * Builds a new showroom card along with its controller.
+     *
+     * @return the controller of the new card, whose root node is returned by {@link #getRoot()}
+     */
+    public static ShowroomCardController create() {
+        ShowroomCardController controller = new ShowroomCardController();
+
+        controller.aShowRoomNameLabel = new Label("Showroom Name");
+        controller.aShowRoomNameLabel.setStyle("-fx-font-size: 16; -fx-font-weight: bold;");
+        controller.aMovieInfoLabel = new Label("(Next movie) showing at XX:XX");
+        controller.aMovieInfoLabel.setStyle("-fx-font-size: 12; -fx-text-fill: #666;");
+
+        Button moreButton = createButton("More");
+        moreButton.setOnAction(controller::onMoreButtonClick);
+        Button deleteButton = createButton("Delete");
+        deleteButton.setOnAction(controller::onDeleteButtonClick);
+
+        HBox buttons = new HBox(10, moreButton, deleteButton);
+        buttons.setAlignment(Pos.CENTER);
+
+        VBox content = new VBox(8, controller.aShowRoomNameLabel, controller.aMovieInfoLabel, buttons);
+        content.setAlignment(Pos.CENTER);
+
+        BorderPane root = new BorderPane(content);
+        root.setStyle("-fx-border-radius: 12; -fx-border-color: #333; -fx-border-width: 1.5; "
+                + "-fx-background-color: #f9f9f9; -fx-padding: 14;");
+        root.setPadding(new Insets(8));
+        controller.aRoot = root;
+        return controller;
+    }
+
+    /**
+     * Builds one of the action buttons of a card.
+     */
+    private static Button createButton(String pText) {
+        Button button = new Button(pText);
+        button.setPrefSize(75, 30);
+        button.setStyle(BUTTON_STYLE);
+        return button;
+    }
+
+    /**
+     * Retrieves the root node of the card.
+     *
+     * @return the card
+     */
+    public BorderPane getRoot() {
+        return aRoot;
+    }
+
     /**
      * Handles the "More" button click event.
      * Opens the showroom add/edit dialog for modifying the showroom details.
      *
      * @param pEvent the action event triggered by the button
      */
-    @FXML
     private void onMoreButtonClick(ActionEvent pEvent) {
         openShowroomAddEditView();
     }
@@ -60,28 +156,56 @@ public class ShowroomCardController {
      *
      * @param pEvent the action event triggered by the button
      */
-    @FXML
     private void onDeleteButtonClick(ActionEvent pEvent) {
-        aShowRoomService.removeShowroom(aShowRoom);
+        aCommandService.execute(() -> aShowRoomService.removeShowroom(aShowRoom));
     }
 
     /**
      * Populates the showroom card with data.
-     * Displays the showroom name and information about its earliest upcoming screening.
+     * Displays the showroom name and information about its earliest upcoming screening,
+     * and keeps them up to date as the screenings of the showroom change.
      *
      * @param pShowroom the showroom to display
      */
     public void setShowroomCard(Showroom pShowroom) {
-        ObservableList<Screening> screenings = pShowroom.getShowroomScreenings();
-        Screening earliestScreening = screenings.stream()
-                .min((s1, s2) -> s1.getDateTime().compareTo(s2.getDateTime()))
-                .orElse(null);
-
         this.aShowRoom = pShowroom;
-        this.aShowRoomNameLabel.setText(pShowroom.getShowroomName());
+        if (!this.aListening) {
+            this.aListening = true;
+            aEventService.addListener(aEventListener);
+        }
+        refresh();
+    }
+
+    /**
+     * Retrieves the showroom displayed by this card.
+     *
+     * @return the showroom, or null if the card was not populated yet
+     */
+    public Showroom getShowroom() {
+        return this.aShowRoom;
+    }
+
+    /**
+     * Stops following the screenings of the showroom, once the card is no longer shown.
+     */
+    public void unbind() {
+        if (this.aListening) {
+            this.aListening = false;
+            aEventService.removeListener(aEventListener);
+        }
+    }
+
+    /**
+     * Displays the current name of the showroom and its earliest upcoming screening,
+     * found through the time-ordered schedule of the showroom.
+     */
+    private void refresh() {
+        Screening earliestScreening = aShowRoom.getNextScreening();
+
+        this.aShowRoomNameLabel.setText(aShowRoom.getShowroomName());
         
         if (earliestScreening != null) {
-            String formattedTime = earliestScreening.getDateTime().format(DateTimeFormatter.ofPattern("HH:mm"));
+            String formattedTime = earliestScreening.getDateTime().format(TIME_FORMATTER);
             this.aMovieInfoLabel.setText(earliestScreening.getMovie().getTitle() + " showing at " + formattedTime);
         } else {
             this.aMovieInfoLabel.setText("(No screenings available)");
@@ -1,10 +1,9 @@
 package com.example.theaterproject.Controllers;
 
+import com.example.theaterproject.Services.EventService;
 import com.example.theaterproject.Services.UIService;
-import com.example.theaterproject.Models.Screening;
 import com.example.theaterproject.Models.Showroom;
 import com.example.theaterproject.Services.ShowroomService;
-import javafx.collections.ListChangeListener;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -16,6 +15,13 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Controller for the showrooms view.
@@ -25,6 +31,13 @@ import java.io.IOException;
  * Provides navigation to other views and handles showroom creation/editing.
  * Automatically updates the grid when showrooms are added, modified, or removed.
  * </p>
+ *
+ * <p>
+ * Cards are kept in a registry keyed by showroom: a showroom keeps its card for as long as
+ * it is listed, and each card follows the screenings of its showroom through the events of
+ * {@link EventService}. Adding or removing a showroom only creates or drops its own card,
+ * and any number of changes delivered together update the grid once.
+ * </p>
  */
 public class ShowroomsViewController {
 
@@ -52,17 +65,36 @@ public class ShowroomsViewController {
     private final ShowroomService aShowroomService = ShowroomService.getInstance();
     private final UIService aUIService = UIService.getInstance();
 
+    /**
+     * Number of showroom cards on each row of the grid.
+     */
+    private static final int COLUMNS = 3;
+
+    /**
+     * The card shown for each showroom. Each card follows the screenings of its own showroom,
+     * so a change to one showroom only updates its card.
+     */
+    private final Map<Showroom, ShowroomCardController> aCards = new IdentityHashMap<>();
+
+    /**
+     * Updates the grid when the showrooms changed. Held weakly by the event service, so the
+     * view can be garbage collected once it is no longer kept alive for navigation.
+     */
+    private final Consumer<List<EventService.Event>> aEventListener = events -> {
+        if (events.contains(new EventService.ShowroomsChanged())) {
+            fillShowroomGridPane();
+        }
+    };
+
     /**
      * Initializes the showrooms view.
-     * Populates the grid with showroom cards and adds a listener to update the grid when showrooms change.
+     * Populates the grid with showroom cards and listens to the events updating the grid when showrooms change.
      */
     @FXML
     public void initialize() {
         fillShowroomGridPane();
 
-        this.aShowroomService.getShowrooms().addListener((ListChangeListener<Showroom>) change -> {
-            fillShowroomGridPane();
-        });
+        EventService.getInstance().addListener(aEventListener);
     }
 
     /**
@@ -74,7 +106,7 @@ public class ShowroomsViewController {
     @FXML
     private void onHomeViewButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("editor-view", "Movies", pEvent, 900, 700);
+            aUIService.showView("editor-view", "Movies", 900, 700);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", "Failed to load editor view: " + e.getMessage());
         }
@@ -89,7 +121,7 @@ public class ShowroomsViewController {
     @FXML
     private void onStatsViewButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("stats-view", "Statistics", pEvent, 700, 500);
+            aUIService.showView("stats-view", "Statistics", 700, 500);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", "Failed to load stats view: " + e.getMessage());
         }
@@ -131,63 +163,61 @@ public class ShowroomsViewController {
 
     /**
      * Populates the grid pane with showroom cards.
-     * Clears existing cards and creates new ones for all showrooms in the service.
+     * Drops the cards of the showrooms that were removed, creates cards for the showrooms that
+     * were added, and places every card at the position of its showroom. The cards of the other
+     * showrooms are reused as they are.
      */
     private void fillShowroomGridPane() {
-        this.aMovieGridPane.getChildren().clear();
-
-        int columns = 3;
-        int col = 0;
-        int rows = 0;
-
-        for (Showroom showroom : this.aShowroomService.getShowrooms()) {
-            addShowroomCard(showroom, col, rows);
+        List<Showroom> showrooms = this.aShowroomService.getShowrooms();
+
+        Set<Showroom> listed = Collections.newSetFromMap(new IdentityHashMap<>());
+        listed.addAll(showrooms);
+        Iterator<Map.Entry<Showroom, ShowroomCardController>> cards = this.aCards.entrySet().iterator();
+        while (cards.hasNext()) {
+            ShowroomCardController controller = cards.next().getValue();
+            if (!listed.contains(controller.getShowroom())) {
+                controller.unbind();
+                this.aMovieGridPane.getChildren().remove(controller.getRoot());
+                cards.remove();
+            }
+        }
 
-            col++;
-            if (col == columns) {
-                col = 0;
-                rows++;
+        for (int i = 0; i < showrooms.size(); i++) {
+            Showroom showroom = showrooms.get(i);
+            ShowroomCardController controller = this.aCards.get(showroom);
+            if (controller == null) {
+                controller = addShowroomCard(showroom);
             }
+            GridPane.setConstraints(controller.getRoot(), i % COLUMNS, i / COLUMNS);
         }
     }
 
     /**
-     * Adds a showroom card to the grid at the specified position.
-     * Sets up a listener to update the card when the showroom's screenings change.
+     * Creates the card of a showroom, registers it and adds it to the grid.
+     * The card follows the screenings of the showroom on its own.
      *
      * @param pShowroom the showroom to display
-     * @param pColumn the column position in the grid
-     * @param pRow the row position in the grid
+     * @return the controller of the new card
      */
-    private void addShowroomCard(Showroom pShowroom, int pColumn, int pRow) {
-        try {
-            FXMLLoader loader = aUIService.loadFXML("showroom-card-view");
-            Parent card = loader.getRoot();
-
-            ShowroomCardController controller = loader.getController();
-            controller.setShowroomCard(pShowroom);
-
-            // Listen for changes in screenings so card updates when screenings change
-            pShowroom.getShowroomScreenings().addListener((ListChangeListener<Screening>) change -> {
-                controller.setShowroomCard(pShowroom);
-            });
-
-            this.aMovieGridPane.add(card, pColumn, pRow);
-        } catch (Exception e) {
-            aUIService.showErrorAlert("Error", "Failed to load showroom card: " + e.getMessage());
-        }
+    private ShowroomCardController addShowroomCard(Showroom pShowroom) {
+        ShowroomCardController controller = ShowroomCardController.create();
+        controller.setShowroomCard(pShowroom);
+        this.aCards.put(pShowroom, controller);
+        this.aMovieGridPane.getChildren().add(controller.getRoot());
+        return controller;
     }
 
     /**
      * Handles the sign out button click event.
-     * Opens the login view and closes the current window.
+     * Shows the login view in place of the current one and drops the cached views.
      *
      * @param pEvent the action event triggered by the sign out button
      */
     @FXML
     private void onSignOutButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("login-view", "Log In", pEvent, 600, 300);
+            aUIService.discardRetainedViews();
+            aUIService.openView("login-view", "Log In", 600, 300);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", e.getMessage());
         }
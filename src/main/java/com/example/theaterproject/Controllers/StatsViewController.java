@@ -1,9 +1,12 @@
 package com.example.theaterproject.Controllers;
 
+import com.example.theaterproject.Helpers.MoneyHelper;
 import com.example.theaterproject.Models.Movie;
 import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Services.EventService;
 import com.example.theaterproject.Services.MovieService;
 import com.example.theaterproject.Services.ShowroomService;
+import com.example.theaterproject.Services.StatsService;
 import com.example.theaterproject.Services.UIService;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -11,19 +14,28 @@ import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Controller for the Stats view.
  *
  * <p>This controller populates a list of {@link Movie} objects and, based on the selected
- * movie, displays the corresponding list of {@link Screening} objects. When a screening
- * is selected, it computes and displays basic statistics:
- * the number of tickets sold, the ticket price, and the revenue (tickets × price).</p>
+ * movie, displays the corresponding list of {@link Screening} objects along with the tickets
+ * sold for the movie. When a screening is selected, it displays basic statistics:
+ * the number of tickets sold, the ticket price, and the revenue, as well as the totals of
+ * its showroom and of its day. The figures refresh as tickets are sold.</p>
+ *
+ * <p>"Number of tickets sold" counts the tickets actually issued for the screening, where it
+ * used to show the ticket count of the screening, which is the number of tickets still
+ * available. The revenue is what those tickets were sold for, so it no longer equals the
+ * number of tickets times the price shown once the price of the screening has been edited.</p>
  *
  * <p>Data sources:
  * <ul>
  *   <li>{@link MovieService}: provides the observable list of movies.</li>
  *   <li>{@link ShowroomService}: provides screenings for a given movie.</li>
+ *   <li>{@link StatsService}: provides the running totals of tickets sold and revenue.</li>
  * </ul>
  * </p>
  *
@@ -44,7 +56,7 @@ public class StatsViewController {
     @FXML
     private ListView<Screening> aScreeningList;
 
-    /** Label showing the number of tickets sold for the selected screening. */
+    /** Label showing the number of tickets issued for the selected screening, not the tickets left. */
     @FXML
     private Label aNumberTicketsLabel;
 
@@ -52,17 +64,44 @@ public class StatsViewController {
     @FXML
     private Label aPriceTicketsLabel;
 
-    /** Label showing the computed revenue (tickets × price) for the selected screening. */
+    /** Label showing the revenue of the tickets sold for the selected screening. */
     @FXML
     private Label aRevenueLabel;
 
+    /** Label showing the tickets sold and revenue for the selected movie. */
+    @FXML
+    private Label aMovieTotalsLabel;
+
+    /** Label showing the tickets sold and revenue for the showroom of the selected screening. */
+    @FXML
+    private Label aShowroomTotalsLabel;
+
+    /** Label showing the tickets sold and revenue for the day of the selected screening. */
+    @FXML
+    private Label aDayTotalsLabel;
+
     /** Singleton service providing the observable list of movies. */
     private final MovieService aMovieService = MovieService.getInstance();
 
     /** Singleton service providing screenings for a given movie. */
     private final ShowroomService aShowroomService = ShowroomService.getInstance();
+    private final StatsService aStatsService = StatsService.getInstance();
     private final UIService aUIService = UIService.getInstance();
 
+    /**
+     * Refreshes the statistics, once per delivery of events, as tickets are sold, screenings
+     * change or showrooms are renamed. Held weakly by the event service, so a discarded view can be collected.
+     */
+    private final Consumer<List<EventService.Event>> aEventListener = events -> {
+        for (EventService.Event event : events) {
+            if (event instanceof EventService.TicketsSold || event instanceof EventService.ScreeningsChanged
+                    || event instanceof EventService.ShowroomUpdated) {
+                showDetails();
+                return;
+            }
+        }
+    };
+
     /**
      * Initializes the Stats view.
      *
@@ -84,38 +123,57 @@ public class StatsViewController {
 
         // when movie is selected display its screenings with ScreeningService.getScreeningFor
         aMoviesList.getSelectionModel().selectedItemProperty().addListener((obs, oldMovie, newMovie) -> {
-            aScreeningList.getItems().clear();
-            clearDetails();
-
-            // populate list of screenings for newly selected movie
-            if (newMovie != null) {
-                aScreeningList.setItems(aShowroomService.getScreeningFor(newMovie));
-            }
+            // populate list of screenings for newly selected movie (read-only view of the service index)
+            aScreeningList.setItems(aShowroomService.getScreeningFor(newMovie));
+            showDetails();
         });
 
         // display stats when screening is selected
-        aScreeningList.getSelectionModel().selectedItemProperty().addListener((obs, oldScr, scr) -> {
-            // clear details if no screening is selected
-            if (scr == null) {
-                clearDetails();
-                return;
-            }
-            // calculate revenue for selected screening
-            int sold = scr.getTicketCount();
-            double price = scr.getPricePerTicket();
-            double revenue = sold * price;
-
-            // set stats labels
-            aNumberTicketsLabel.setText(Integer.toString(sold));
-            aPriceTicketsLabel.setText(String.format("$%.2f", price));
-            aRevenueLabel.setText(String.format("$%.2f", revenue));
-        });
+        aScreeningList.getSelectionModel().selectedItemProperty().addListener((obs, oldScr, scr) -> showDetails());
+
+        // keep the figures live as tickets are sold
+        EventService.getInstance().addListener(aEventListener);
 
         // default state
         clearDetails();
     }
 
 
+    /**
+     * Displays the statistics of the selected movie and screening, read from the running
+     * totals of {@link StatsService}.
+     */
+    private void showDetails() {
+        Movie movie = aMoviesList.getSelectionModel().getSelectedItem();
+        Screening scr = aScreeningList.getSelectionModel().getSelectedItem();
+        clearDetails();
+        if (movie != null) {
+            aMovieTotalsLabel.setText(format(aStatsService.getTotals(movie)));
+        }
+        // clear details if no screening is selected
+        if (scr == null) {
+            return;
+        }
+        StatsService.Totals totals = aStatsService.getTotals(scr);
+
+        // set stats labels
+        aNumberTicketsLabel.setText(Long.toString(totals.tickets()));
+        aPriceTicketsLabel.setText(MoneyHelper.format(scr.getPricePerTicketInCents()));
+        aRevenueLabel.setText(MoneyHelper.format(totals.revenueInCents()));
+        if (scr.getShowroom() != null) {
+            aShowroomTotalsLabel.setText(scr.getShowroom().getShowroomName() + ": "
+                    + format(aStatsService.getTotals(scr.getShowroom())));
+        }
+        aDayTotalsLabel.setText(format(aStatsService.getTotals(scr.getDateTime().toLocalDate())));
+    }
+
+    /**
+     * Formats totals as the number of tickets followed by their revenue.
+     */
+    private static String format(StatsService.Totals pTotals) {
+        return pTotals.tickets() + " tickets, " + MoneyHelper.format(pTotals.revenueInCents());
+    }
+
     /**
      * Clears the statistics labels by setting them to default placeholder values.
      * Used when no screening is selected or when filtering changes.
@@ -124,6 +182,9 @@ public class StatsViewController {
         aNumberTicketsLabel.setText("-");
         aPriceTicketsLabel.setText("-");
         aRevenueLabel.setText("-");
+        aMovieTotalsLabel.setText("-");
+        aShowroomTotalsLabel.setText("-");
+        aDayTotalsLabel.setText("-");
     }
 
     /**
@@ -135,7 +196,7 @@ public class StatsViewController {
     @FXML
     private void onHomeButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("editor-view", "Home", pEvent, 900,700);
+            aUIService.showView("editor-view", "Home", 900, 700);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", e.getMessage());
         }
@@ -150,7 +211,7 @@ public class StatsViewController {
     @FXML
     private void onShowroomsButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("showrooms-view", "Showrooms", pEvent, 900, 700);
+            aUIService.showView("showrooms-view", "Showrooms", 900, 700);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", e.getMessage());
         }
@@ -158,14 +219,15 @@ public class StatsViewController {
 
     /**
      * Handles the sign out button click event.
-     * Opens the login view and closes the current window.
+     * Shows the login view in place of the current one and drops the cached views.
      *
      * @param pEvent the action event triggered by the sign out button
      */
     @FXML
     private void onSignOutButtonClick(ActionEvent pEvent) {
         try {
-            aUIService.openNewWindow("login-view", "Log In", pEvent, 600, 300);
+            aUIService.discardRetainedViews();
+            aUIService.openView("login-view", "Log In", 600, 300);
         } catch (IOException e) {
             aUIService.showErrorAlert("Error", e.getMessage());
         }
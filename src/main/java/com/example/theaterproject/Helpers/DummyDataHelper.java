@@ -17,27 +17,28 @@ public class DummyDataHelper {
 
     /**
      * Creates a list of dummy Movie objects with realistic data.
+     * The movies have fixed IDs, so every list created holds the same movies.
      *
      * @return an observable list of Movie objects
      */
     public static ObservableList<Movie> getDummyMovies() {
         ObservableList<Movie> movies = FXCollections.observableArrayList();
         
-        movies.add(new Movie("The Matrix", 136));
+        movies.add(new Movie(1, "The Matrix", 136));
         
-        movies.add(new Movie("The Shawshank Redemption", 142));
+        movies.add(new Movie(2, "The Shawshank Redemption", 142));
         
-        movies.add(new Movie("Inception", 148));
+        movies.add(new Movie(3, "Inception", 148));
         
-        movies.add(new Movie("Pulp Fiction", 154));
+        movies.add(new Movie(4, "Pulp Fiction", 154));
         
-        movies.add(new Movie("The Shining", 146));
+        movies.add(new Movie(5, "The Shining", 146));
         
-        movies.add(new Movie("Spirited Away", 125));
+        movies.add(new Movie(6, "Spirited Away", 125));
         
-        movies.add(new Movie("Titanic", 194));
+        movies.add(new Movie(7, "Titanic", 194));
         
-        movies.add(new Movie("The Dark Knight",152));
+        movies.add(new Movie(8, "The Dark Knight",152));
         
         return movies;
     }
@@ -100,12 +101,12 @@ public class DummyDataHelper {
         ObservableList<Screening> screenings = FXCollections.observableArrayList();
         ObservableList<Movie> movies = getDummyMovies();
         
-        screenings.add(new Screening(movies.get(0), 150, 12.50, LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(14, 0))));
-        screenings.add(new Screening(movies.get(1), 200, 11.00, LocalDateTime.of(LocalDate.now().plusDays(2), LocalTime.of(16, 30))));
-        screenings.add(new Screening(movies.get(2), 180, 13.00, LocalDateTime.of(LocalDate.now().plusDays(3), LocalTime.of(19, 0))));
-        screenings.add(new Screening(movies.get(3), 160, 10.50, LocalDateTime.of(LocalDate.now().plusDays(4), LocalTime.of(18, 45))));
-        screenings.add(new Screening(movies.get(4), 140, 12.00, LocalDateTime.of(LocalDate.now().plusDays(5), LocalTime.of(20, 0))));
-        screenings.add(new Screening(movies.get(5), 170, 11.50, LocalDateTime.of(LocalDate.now().plusDays(6), LocalTime.of(15, 30))));
+        screenings.add(new Screening(movies.get(0), 150, 1250, LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(14, 0))));
+        screenings.add(new Screening(movies.get(1), 200, 1100, LocalDateTime.of(LocalDate.now().plusDays(2), LocalTime.of(16, 30))));
+        screenings.add(new Screening(movies.get(2), 180, 1300, LocalDateTime.of(LocalDate.now().plusDays(3), LocalTime.of(19, 0))));
+        screenings.add(new Screening(movies.get(3), 160, 1050, LocalDateTime.of(LocalDate.now().plusDays(4), LocalTime.of(18, 45))));
+        screenings.add(new Screening(movies.get(4), 140, 1200, LocalDateTime.of(LocalDate.now().plusDays(5), LocalTime.of(20, 0))));
+        screenings.add(new Screening(movies.get(5), 170, 1150, LocalDateTime.of(LocalDate.now().plusDays(6), LocalTime.of(15, 30))));
         
         return screenings;
     }
@@ -161,22 +162,22 @@ public class DummyDataHelper {
         ObservableList<Movie> movies = getDummyMovies();
         
         // Client 1 buys multiple tickets
-        tickets.add(new Ticket(movies.get(0), screenings.get(0), 12.50, clients.get(0)));
-        tickets.add(new Ticket(movies.get(1), screenings.get(1), 11.00, clients.get(0)));
+        tickets.add(new Ticket(movies.get(0), screenings.get(0), 1250, clients.get(0)));
+        tickets.add(new Ticket(movies.get(1), screenings.get(1), 1100, clients.get(0)));
         
         // Client 2 buys a ticket
-        tickets.add(new Ticket(movies.get(2), screenings.get(2), 13.00, clients.get(1)));
+        tickets.add(new Ticket(movies.get(2), screenings.get(2), 1300, clients.get(1)));
         
         // Client 3 buys multiple tickets
-        tickets.add(new Ticket(movies.get(3), screenings.get(3), 10.50, clients.get(2)));
-        tickets.add(new Ticket(movies.get(4), screenings.get(4), 12.00, clients.get(2)));
-        tickets.add(new Ticket(movies.get(5), screenings.get(5), 11.50, clients.get(2)));
+        tickets.add(new Ticket(movies.get(3), screenings.get(3), 1050, clients.get(2)));
+        tickets.add(new Ticket(movies.get(4), screenings.get(4), 1200, clients.get(2)));
+        tickets.add(new Ticket(movies.get(5), screenings.get(5), 1150, clients.get(2)));
         
         // Client 4 buys a ticket
-        tickets.add(new Ticket(movies.get(0), screenings.get(0), 12.50, clients.get(3)));
+        tickets.add(new Ticket(movies.get(0), screenings.get(0), 1250, clients.get(3)));
         
         // Client 5 buys a ticket
-        tickets.add(new Ticket(movies.get(1), screenings.get(1), 11.00, clients.get(4)));
+        tickets.add(new Ticket(movies.get(1), screenings.get(1), 1100, clients.get(4)));
         
         return tickets;
     }
@@ -0,0 +1,86 @@
+package com.example.theaterproject.Helpers;
+
+/**
+ * Helper class converting amounts of money between their representation in the application,
+ * a {@code long} number of cents, and decimal text.
+ *
+ * <p>
+ * Keeping amounts in whole cents makes sums and products of prices exact, however many
+ * tickets they cover, and lets them be added up without allocating. Amounts are only turned
+ * into text to be displayed, typed in or saved.
+ * </p>
+ */
+public final class MoneyHelper {
+
+    /**
+     * Number of cents in a dollar.
+     */
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    private MoneyHelper() { }
+
+    /**
+     * Formats an amount for display, such as {@code $1,234.50}.
+     *
+     * @param pCents the amount in cents
+     * @return the formatted amount
+     */
+    public static String format(long pCents) {
+        String sign = pCents < 0 ? "-" : "";
+        long cents = Math.abs(pCents);
+        return String.format("%s$%,d.%02d", sign, cents / CENTS_PER_DOLLAR, cents % CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * Formats an amount as a plain decimal number with two decimals, such as {@code 1234.50},
+     * to be typed over or saved as text.
+     *
+     * @param pCents the amount in cents
+     * @return the amount as a decimal number
+     */
+    public static String toDecimalString(long pCents) {
+        String sign = pCents < 0 ? "-" : "";
+        long cents = Math.abs(pCents);
+        return String.format("%s%d.%02d", sign, cents / CENTS_PER_DOLLAR, cents % CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * Parses a decimal number of dollars, such as {@code 12}, {@code 12.5} or {@code 12.50}.
+     *
+     * @param pText the amount in dollars, with at most two decimals
+     * @return the amount in cents
+     * @throws NumberFormatException if the text is not a decimal number with at most two decimals,
+     *                               or if the amount does not fit in a {@code long} number of cents
+     */
+    public static long parse(String pText) {
+        String text = pText.trim();
+        boolean negative = text.startsWith("-");
+        if (negative) {
+            text = text.substring(1);
+        }
+        int point = text.indexOf('.');
+        String dollars = point < 0 ? text : text.substring(0, point);
+        String cents = point < 0 ? "" : text.substring(point + 1);
+        if (dollars.isEmpty() && cents.isEmpty() || cents.length() > 2
+                || !isDigits(dollars) || !isDigits(cents)) {
+            throw new NumberFormatException("Not an amount of money: " + pText);
+        }
+        try {
+            long amount = Math.addExact(
+                    Math.multiplyExact(dollars.isEmpty() ? 0 : Long.parseLong(dollars), CENTS_PER_DOLLAR),
+                    cents.isEmpty() ? 0 : Long.parseLong(cents) * (cents.length() == 1 ? 10 : 1));
+            return negative ? -amount : amount;
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount of money too large: " + pText);
+        }
+    }
+
+    private static boolean isDigits(String pText) {
+        for (int i = 0; i < pText.length(); i++) {
+            if (pText.charAt(i) < '0' || pText.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.theaterproject.Helpers;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Helper class hashing account passwords, so that passwords are never kept nor saved as
+ * plain text.
+ *
+ * <p>
+ * A password is hashed with PBKDF2 (HMAC-SHA256) along with a random salt of its own, so
+ * equal passwords give different hashes, and with enough iterations that guessing passwords
+ * from a stolen hash is slow. The number of iterations, the salt and the hash are encoded
+ * together as text, such as {@code iterations$salt$hash} with the salt and the hash in
+ * Base64, which is what accounts keep and what gets saved. Checking a password uses the
+ * number of iterations of its hash, so hashes made with another cost keep working.
+ * </p>
+ *
+ * <p>
+ * New hashes use {@value #DEFAULT_ITERATIONS} iterations, unless the
+ * {@value #ITERATIONS_PROPERTY} system property holds another number. Only tools creating
+ * accounts in bulk, such as the benchmarks, should lower it.
+ * </p>
+ */
+public final class PasswordHelper {
+
+    /**
+     * System property holding the number of iterations of new hashes.
+     */
+    public static final String ITERATIONS_PROPERTY = "theater.password.iterations";
+
+    /**
+     * Number of iterations of new hashes when the system property is not set.
+     */
+    private static final int DEFAULT_ITERATIONS = 600_000;
+
+    /**
+     * Number of iterations of new hashes.
+     */
+    private static final int ITERATIONS = Math.max(1, Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS));
+
+    /**
+     * Number of random bytes in a salt.
+     */
+    private static final int SALT_LENGTH = 16;
+
+    /**
+     * Number of bits in a hash.
+     */
+    private static final int HASH_BITS = 256;
+
+    /**
+     * Separates the number of iterations, the salt and the hash in an encoded hash.
+     */
+    private static final char SEPARATOR = '$';
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHelper() { }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param pPassword the password
+     * @return the number of iterations, the salt and the hash of the password, encoded as text
+     */
+    public static String hash(String pPassword) {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder();
+        return ITERATIONS + String.valueOf(SEPARATOR) + encoder.encodeToString(salt) + SEPARATOR
+                + encoder.encodeToString(derive(pPassword, salt, ITERATIONS));
+    }
+
+    /**
+     * Checks a password against a hash returned by {@link #hash(String)}.
+     *
+     * @param pPassword the password to check
+     * @param pHash     the encoded hash
+     * @return {@code true} if the password is the one that was hashed, {@code false} otherwise,
+     *         including when the password is null or the hash is malformed
+     */
+    public static boolean matches(String pPassword, String pHash) {
+        if (pPassword == null || !isHash(pHash)) {
+            return false;
+        }
+        String[] parts = split(pHash);
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] expected = decoder.decode(parts[2]);
+        // compares in constant time
+        return MessageDigest.isEqual(expected, derive(pPassword, decoder.decode(parts[1]), Integer.parseInt(parts[0])));
+    }
+
+    /**
+     * Checks that a text is a hash returned by {@link #hash(String)}.
+     *
+     * @param pHash the text
+     * @return {@code true} if the text is an encoded number of iterations, salt and hash
+     */
+    public static boolean isHash(String pHash) {
+        if (pHash == null) {
+            return false;
+        }
+        String[] parts = split(pHash);
+        if (parts == null) {
+            return false;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getDecoder();
+            return Integer.parseInt(parts[0]) > 0
+                    && decoder.decode(parts[1]).length == SALT_LENGTH
+                    && decoder.decode(parts[2]).length == HASH_BITS / 8;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Splits an encoded hash into its number of iterations, salt and hash.
+     *
+     * @return the three parts, or null if the text does not hold three parts
+     */
+    private static String[] split(String pHash) {
+        int first = pHash.indexOf(SEPARATOR);
+        int second = first < 0 ? -1 : pHash.indexOf(SEPARATOR, first + 1);
+        if (first <= 0 || second < 0 || pHash.indexOf(SEPARATOR, second + 1) >= 0) {
+            return null;
+        }
+        return new String[] {pHash.substring(0, first), pHash.substring(first + 1, second), pHash.substring(second + 1)};
+    }
+
+    /**
+     * Derives the PBKDF2 hash of a password.
+     */
+    private static byte[] derive(String pPassword, byte[] pSalt, int pIterations) {
+        PBEKeySpec spec = new PBEKeySpec(pPassword.toCharArray(), pSalt, pIterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            // every Java platform supports PBKDF2WithHmacSHA256
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
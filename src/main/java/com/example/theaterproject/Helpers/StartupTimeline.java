@@ -0,0 +1,90 @@
+package com.example.theaterproject.Helpers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Helper class recording the milestones of the application startup, from the launch of the
+ * JVM to the first dashboard shown after signing in, so the time spent in each step can be
+ * logged and compared between versions.
+ *
+ * <p>
+ * Milestones may be recorded from any thread. The timeline is logged once, at the
+ * {@code INFO} level of the {@code System.Logger} named after this class.
+ * </p>
+ */
+public final class StartupTimeline {
+
+    private static final System.Logger aLogger = System.getLogger(StartupTimeline.class.getName());
+
+    /**
+     * Time at which this class was initialized, which the milestones are measured from.
+     */
+    private static final long aStartNanos = System.nanoTime();
+
+    /**
+     * Time between the launch of the JVM and the initialization of this class, or -1 if unknown.
+     */
+    private static final long aJvmStartMillis = ProcessHandle.current().info().startInstant()
+            .map(start -> Duration.between(start, Instant.now()).toMillis())
+            .orElse(-1L);
+
+    private static final Queue<Milestone> aMilestones = new ConcurrentLinkedQueue<>();
+
+    private static volatile boolean aLogged;
+
+    private StartupTimeline() { }
+
+    /**
+     * Records a milestone at the current time.
+     *
+     * @param pName a short description of the milestone
+     */
+    public static void mark(String pName) {
+        aMilestones.add(new Milestone(pName, Thread.currentThread().getName(),
+                (System.nanoTime() - aStartNanos) / 1_000_000));
+    }
+
+    /**
+     * Retrieves the milestones recorded so far.
+     *
+     * @return the milestones, in the order they were recorded
+     */
+    public static List<Milestone> getMilestones() {
+        return List.copyOf(aMilestones);
+    }
+
+    /**
+     * Logs the milestones recorded so far. Does nothing after the first call, since the
+     * timeline only covers the startup.
+     */
+    public static synchronized void log() {
+        if (aLogged) {
+            return;
+        }
+        aLogged = true;
+
+        StringBuilder timeline = new StringBuilder("Startup timeline");
+        if (aJvmStartMillis >= 0) {
+            timeline.append(" (JVM launched ").append(aJvmStartMillis).append(" ms before)");
+        }
+        for (Milestone milestone : aMilestones) {
+            timeline.append(System.lineSeparator())
+                    .append(String.format("%8d ms  %s [%s]", milestone.elapsedMillis(), milestone.name(), milestone.thread()));
+        }
+        aLogger.log(System.Logger.Level.INFO, timeline.toString());
+    }
+
+    /**
+     * A milestone of the startup.
+     *
+     * @param name          a short description of the milestone
+     * @param thread        the name of the thread that recorded it
+     * @param elapsedMillis the time elapsed since the timeline started, in milliseconds
+     */
+    public record Milestone(String name, String thread, long elapsedMillis) {
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.theaterproject.Models;
 
+import com.example.theaterproject.Helpers.PasswordHelper;
+
 /**
  * Represents a user account in the theater project system.
  * Stores basic authentication information such as username and password.
  *
- * <p><b>Note:</b> In a real-world application, passwords should never be stored
- * in plain text. Proper hashing and security practices should be used.</p>
+ * <p>
+ * The password itself is never kept: only a salted hash of it, computed by
+ * {@link PasswordHelper}, is stored, checked at login and saved.
+ * </p>
  */
 public class Account {
     private String aUserName;
-    private String aPassword;
+    private String aPasswordHash;
 
     /**
      * Creates a new Account with the specified username and password.
@@ -22,7 +26,18 @@ public class Account {
         validatePassword(pPassword);
 
         this.aUserName = pUserName;
-        this.aPassword = pPassword;
+        this.aPasswordHash = PasswordHelper.hash(pPassword);
+    }
+
+    /**
+     * Creates an Account whose password hash is set afterwards with
+     * {@link #setPasswordHash(String)}, such as an account restored from a save.
+     *
+     * @param pUserName the username associated with this account
+     */
+    protected Account(String pUserName) {
+        validateUsername(pUserName);
+        this.aUserName = pUserName;
     }
 
     /**
@@ -33,7 +48,7 @@ public class Account {
      */
     public Account(Account pAccount) {
         this.aUserName = pAccount.aUserName;
-        this.aPassword = pAccount.aPassword;
+        this.aPasswordHash = pAccount.aPasswordHash;
     }
 
     /**
@@ -46,15 +61,22 @@ public class Account {
     }
 
     /**
-     * Returns the password associated with this account.
+     * Returns the salted hash of the password of this account, the form in which it is saved.
      *
-     * <p><b>Warning:</b> In production software, exposing a password
-     * directly through a getter is not secure.</p>
+     * @return the password hash
+     */
+    public String getPasswordHash() {
+        return this.aPasswordHash;
+    }
+
+    /**
+     * Checks whether a password is the password of this account.
      *
-     * @return the password
+     * @param pPassword the password to check
+     * @return {@code true} if the password matches, {@code false} otherwise
      */
-    public String getPassword() {
-        return this.aPassword;
+    public boolean checkPassword(String pPassword) {
+        return PasswordHelper.matches(pPassword, this.aPasswordHash);
     }
 
     /**
@@ -69,12 +91,25 @@ public class Account {
     /**
      * Updates the password for this account.
      *
-     * <p><b>Note:</b> In secure applications, passwords should be hashed before storage.</p>
-     *
      * @param pPassword the new password
+     * @throws IllegalArgumentException if the password is null or blank
      */
     public void setPassword(String pPassword) {
-        this.aPassword = pPassword;
+        validatePassword(pPassword);
+        this.aPasswordHash = PasswordHelper.hash(pPassword);
+    }
+
+    /**
+     * Sets the password hash of this account, as returned by {@link #getPasswordHash()}.
+     *
+     * @param pPasswordHash the password hash
+     * @throws IllegalArgumentException if the text is not a password hash
+     */
+    protected void setPasswordHash(String pPasswordHash) {
+        if (!PasswordHelper.isHash(pPasswordHash)) {
+            throw new IllegalArgumentException("Password hash is malformed");
+        }
+        this.aPasswordHash = pPasswordHash;
     }
 
     /**
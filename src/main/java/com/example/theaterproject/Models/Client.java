@@ -9,6 +9,10 @@ package com.example.theaterproject.Models;
  * </p>
  */
 public class Client extends Account {
+    /**
+     * ID of the client.
+     */
+    private final int aId;
     /**
      * The email address associated with this client account.
      */
@@ -22,10 +26,48 @@ public class Client extends Account {
      * @param pEmail    the email address for the client
      */
     public Client(String pUserName, String pPassword, String pEmail) {
+        this(IdRegistry.next(IdRegistry.Kind.CLIENT), pUserName, pPassword, pEmail);
+    }
+
+    /**
+     * Creates a Client under an existing ID, such as a client restored from a save.
+     *
+     * @param pId       the ID of the client
+     * @param pUserName the username for the client
+     * @param pPassword the password for the client
+     * @param pEmail    the email address for the client
+     */
+    public Client(int pId, String pUserName, String pPassword, String pEmail) {
         super(pUserName, pPassword);
+        this.aId = IdRegistry.reserve(IdRegistry.Kind.CLIENT, pId);
         this.aEmail = pEmail;
     }
 
+    /**
+     * Creates a Client whose password hash is set afterwards.
+     */
+    private Client(int pId, String pUserName, String pEmail) {
+        super(pUserName);
+        this.aId = IdRegistry.reserve(IdRegistry.Kind.CLIENT, pId);
+        this.aEmail = pEmail;
+    }
+
+    /**
+     * Restores a previously saved client, whose password was saved as a hash.
+     *
+     * @param pId           the ID of the client
+     * @param pUserName     the username for the client
+     * @param pPasswordHash the password hash of the client, as returned by {@link #getPasswordHash()}
+     * @param pEmail        the email address for the client
+     * @return the restored client
+     * @throws IllegalArgumentException if the username is invalid or the password hash is malformed
+     */
+    public static Client restore(int pId, String pUserName, String pPasswordHash, String pEmail) {
+        Client client = new Client(pId, pUserName, pEmail);
+        client.setPasswordHash(pPasswordHash);
+        return client;
+    }
+
     /**
      * Copy constructor that creates a new Client instance based on
      * another existing Client.
@@ -34,9 +76,19 @@ public class Client extends Account {
      */
     public Client(Client pClient) {
         super(pClient);
+        this.aId = pClient.aId;
         this.aEmail = pClient.aEmail;
     }
 
+    /**
+     * Retrieves the ID of this client.
+     *
+     * @return the client ID
+     */
+    public int getId() {
+        return this.aId;
+    }
+
     /**
      * Retrieves the email address associated with this client.
      *
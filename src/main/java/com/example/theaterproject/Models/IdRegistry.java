@@ -0,0 +1,63 @@
+package com.example.theaterproject.Models;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Central registry handing out the numeric IDs of movies, showrooms, screenings and clients.
+ *
+ * <p>
+ * Each kind of entity is numbered on its own, from 1 upwards, so IDs stay small and dense
+ * enough to index arrays or bit sets. An ID identifies an entity for its whole life: an
+ * edited movie or screening keeps the ID of the original, and saved entities are restored
+ * under the ID they were saved with. IDs may be allocated on any thread.
+ * </p>
+ */
+public final class IdRegistry {
+
+    /**
+     * The kinds of entities numbered by the registry.
+     */
+    public enum Kind { MOVIE, SHOWROOM, SCREENING, CLIENT }
+
+    /**
+     * Last ID allocated or reserved for each kind of entity.
+     */
+    private static final Map<Kind, AtomicInteger> aLastIds = new EnumMap<>(Kind.class);
+
+    static {
+        for (Kind kind : Kind.values()) {
+            aLastIds.put(kind, new AtomicInteger());
+        }
+    }
+
+    private IdRegistry() { }
+
+    /**
+     * Allocates a new ID.
+     *
+     * @param pKind the kind of the entity
+     * @return an ID never allocated nor reserved before for that kind
+     */
+    public static int next(Kind pKind) {
+        return aLastIds.get(pKind).incrementAndGet();
+    }
+
+    /**
+     * Reserves an existing ID, such as the ID of a restored entity, so that it is never
+     * allocated to another entity.
+     *
+     * @param pKind the kind of the entity
+     * @param pId   the ID
+     * @return the ID
+     * @throws IllegalArgumentException if the ID is not positive
+     */
+    public static int reserve(Kind pKind, int pId) {
+        if (pId <= 0) {
+            throw new IllegalArgumentException("ID must be positive: " + pId);
+        }
+        aLastIds.get(pKind).accumulateAndGet(pId, Math::max);
+        return pId;
+    }
+}
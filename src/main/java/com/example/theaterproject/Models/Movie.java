@@ -11,6 +11,10 @@ import java.time.LocalDate;
  * </p>
  */
 public class Movie {
+    /**
+     * ID of the movie, kept by its edited versions.
+     */
+    private final int aId;
     private final String aTitle;
     private final int aRuntime;
 
@@ -21,9 +25,22 @@ public class Movie {
      * @param pRuntime the runtime of the movie
      */
     public Movie(String pTitle, int pRuntime) {
+        this(IdRegistry.next(IdRegistry.Kind.MOVIE), pTitle, pRuntime);
+    }
+
+    /**
+     * Creates a Movie under an existing ID, such as an edited version of a movie or a
+     * movie restored from a save.
+     *
+     * @param pId the ID of the movie
+     * @param pTitle the title of the movie
+     * @param pRuntime the runtime of the movie
+     */
+    public Movie(int pId, String pTitle, int pRuntime) {
         validateString(pTitle);
         validateRuntime(pRuntime);
 
+        this.aId = IdRegistry.reserve(IdRegistry.Kind.MOVIE, pId);
         this.aTitle = pTitle;
         this.aRuntime = pRuntime;
     }
@@ -35,10 +52,20 @@ public class Movie {
      * @param pMovie the movie to copy from
      */
     public Movie(Movie pMovie) {
+        this.aId = pMovie.aId;
         this.aTitle = pMovie.aTitle;
         this.aRuntime = pMovie.aRuntime;
     }
 
+    /**
+     * Returns the ID of this movie.
+     *
+     * @return the movie ID
+     */
+    public int getId() {
+        return this.aId;
+    }
+
     /**
      * Returns the title of this movie.
      *
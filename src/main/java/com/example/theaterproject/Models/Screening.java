@@ -1,40 +1,60 @@
 package com.example.theaterproject.Models;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Screening class represents information about a specific movie screening,
  * including the movie being screened, the seat number, and the price of the screening.
+ *
+ * <p>
+ * The movie, price and date and time of a screening never change, since the showroom
+ * holding it is ordered by start time. A screening is edited by replacing it with a copy
+ * under the same ID through {@link com.example.theaterproject.Services.ShowroomService}.
+ * </p>
  */
 public class Screening {
+    /**
+     * ID of the screening, kept by its edited copies.
+     */
+    private final int aId;
     /**
      * Represents the movie associated with a specific screening in the theater system.
      * This variable stores an instance of the {@link Movie} class, which provides
      * details about the movie such as its genre, title, director, release year,
      * and description.
      */
-    private Movie aMovie;
+    private final Movie aMovie;
     /**
      * Represents the seat number associated with a specific movie screening.
      * This variable stores an integer that corresponds to the assigned seat
      * for a particular screening.
+     * Updated atomically so that concurrent purchases never oversell the screening.
      */
-    private int aTicketCount;
+    private final AtomicInteger aTicketCount;
     /**
-     * Represents the price of a single ticket of that screening
+     * Represents the price of a single ticket of that screening, in cents
      */
-    private double aPricePerTicket;
+    private final long aPricePerTicketInCents;
     /**
      * The date and time when this screening takes place.
      */
-    private LocalDateTime aDateTime;
+    private final LocalDateTime aDateTime;
+    /**
+     * The seats of this screening, sized from the capacity of the showroom holding it;
+     * {@code null} until the screening is scheduled in a showroom.
+     */
+    private volatile SeatMap aSeats;
+    /**
+     * The showroom in which this screening is scheduled, or {@code null} if it is not scheduled.
+     */
+    private volatile Showroom aShowroom;
 
     /**
      * Formatter used to render the date-time in {@code toString()}.
      */
-    private final DateTimeFormatter FORMATER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+    private static final DateTimeFormatter FORMATER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
 
     /**
      * Constructs a Screening object representing a specific movie screening
@@ -42,48 +62,133 @@ public class Screening {
      *
      * @param pMovie       The movie associated with this screening.
      * @param pTicketCount The seat number for this screening.
-     * @param pPricePerTicket       The price of the screening.
+     * @param pPricePerTicketInCents The price of a ticket, in cents.
      * @param pDateTime    The date and time of the screening.
      */
-    public Screening(Movie pMovie, int pTicketCount, double pPricePerTicket, LocalDateTime pDateTime) {
+    public Screening(Movie pMovie, int pTicketCount, long pPricePerTicketInCents, LocalDateTime pDateTime) {
+        this(IdRegistry.next(IdRegistry.Kind.SCREENING), pMovie, pTicketCount, pPricePerTicketInCents, pDateTime);
+    }
+
+    /**
+     * Constructs a Screening under an existing ID, such as the edited copy of a screening.
+     *
+     * @param pId          The ID of the screening.
+     * @param pMovie       The movie associated with this screening.
+     * @param pTicketCount The seat number for this screening.
+     * @param pPricePerTicketInCents The price of a ticket, in cents.
+     * @param pDateTime    The date and time of the screening.
+     */
+    public Screening(int pId, Movie pMovie, int pTicketCount, long pPricePerTicketInCents, LocalDateTime pDateTime) {
+        this(pId, pMovie, pTicketCount, pPricePerTicketInCents, requireUpcoming(pDateTime), null);
+    }
+
+    /**
+     * Constructs a Screening with its seats, whose date and time may be in the past.
+     *
+     * @param pSeats the seats of the screening, or {@code null} to size them once it is scheduled in a showroom
+     */
+    private Screening(int pId, Movie pMovie, int pTicketCount, long pPricePerTicketInCents, LocalDateTime pDateTime, SeatMap pSeats) {
         if (pMovie == null) {
             throw new IllegalArgumentException("Movie cannot be null");
         }
         if (pTicketCount < 0) {
             throw new IllegalArgumentException("Tickets sold for this screening cannot be negative");
         }
-        if (pPricePerTicket < 0) {
+        if (pPricePerTicketInCents < 0) {
             throw new IllegalArgumentException("Price cannot be negative.");
         }
         if (pDateTime == null) {
             throw new IllegalArgumentException("DateTime cannot be null");
         }
-        if (pDateTime.isBefore(LocalDateTime.now())) {
-            throw new IllegalArgumentException("DateTime cannot be in the past.");
-        }
 
+        this.aId = IdRegistry.reserve(IdRegistry.Kind.SCREENING, pId);
         this.aMovie = pMovie;
-        this.aTicketCount = pTicketCount;
-        this.aPricePerTicket = pPricePerTicket;
+        this.aTicketCount = new AtomicInteger(pTicketCount);
+        this.aPricePerTicketInCents = pPricePerTicketInCents;
         this.aDateTime = pDateTime;
+        this.aSeats = pSeats;
     }
 
     /**
-     * Retrieves the movie associated with this screening.
+     * Restores a previously saved screening under the ID it was saved with, along with its seats.
      *
-     * @return the {@link Movie} object associated with this screening.
+     * <p>
+     * Unlike the public constructor, the date and time may be in the past, since a
+     * screening saved in an earlier session may have taken place since then.
+     * </p>
+     *
+     * @param pId             the ID of the screening
+     * @param pMovie          the movie associated with the screening; must not be {@code null}
+     * @param pTicketCount    the ticket count of the screening
+     * @param pPricePerTicketInCents the price of a ticket, in cents
+     * @param pDateTime       the date and time of the screening; must not be {@code null}
+     * @param pSeats          the seats of the screening, sized from the capacity of its showroom
+     * @return the restored screening
+     * @throws IllegalArgumentException if the movie or the date and time is {@code null}, if the ticket
+     *                                  count or the price is negative, or if the ID is not positive
      */
-    public Movie getMovie() {
-        return this.aMovie;
+    public static Screening restore(int pId, Movie pMovie, int pTicketCount, long pPricePerTicketInCents,
+                                    LocalDateTime pDateTime, SeatMap pSeats) {
+        return new Screening(pId, pMovie, pTicketCount, pPricePerTicketInCents, pDateTime, pSeats);
     }
 
     /**
-     * Sets the movie for this screening.
+     * Creates a copy of this screening showing another version of its movie, such as the movie
+     * edited under the same ID. The copy keeps the ID, tickets, price, date and time and seats
+     * of this screening, even if it has already taken place.
      *
-     * @param pMovie the movie to associate with this screening
+     * @param pMovie the movie the copy shows; must not be {@code null}
+     * @return the copy of this screening
      */
-    public void setMovie(Movie pMovie) {
-        this.aMovie = pMovie;
+    public Screening withMovie(Movie pMovie) {
+        return new Screening(this.aId, pMovie, getTicketCount(), this.aPricePerTicketInCents, this.aDateTime, this.aSeats);
+    }
+
+    /**
+     * Creates the edited copy of this screening, which keeps its ID and the seats already sold
+     * for it.
+     *
+     * @param pMovie                 the movie of the copy
+     * @param pTicketCount           the ticket count of the copy
+     * @param pPricePerTicketInCents the price of a ticket of the copy, in cents
+     * @param pDateTime              the date and time of the copy
+     * @return the edited copy of this screening
+     * @throws IllegalArgumentException if the movie is {@code null}, if the ticket count or the price is
+     *                                  negative, or if the date and time is {@code null} or in the past
+     */
+    public Screening edit(Movie pMovie, int pTicketCount, long pPricePerTicketInCents, LocalDateTime pDateTime) {
+        return new Screening(this.aId, pMovie, pTicketCount, pPricePerTicketInCents, requireUpcoming(pDateTime), this.aSeats);
+    }
+
+    /**
+     * Checks that the date and time of a new screening is set and not in the past.
+     */
+    private static LocalDateTime requireUpcoming(LocalDateTime pDateTime) {
+        if (pDateTime == null) {
+            throw new IllegalArgumentException("DateTime cannot be null");
+        }
+        if (pDateTime.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("DateTime cannot be in the past.");
+        }
+        return pDateTime;
+    }
+
+    /**
+     * Retrieves the ID of this screening.
+     *
+     * @return the screening ID
+     */
+    public int getId() {
+        return this.aId;
+    }
+
+    /**
+     * Retrieves the movie associated with this screening.
+     *
+     * @return the {@link Movie} object associated with this screening.
+     */
+    public Movie getMovie() {
+        return this.aMovie;
     }
 
     /**
@@ -92,34 +197,39 @@ public class Screening {
      * @return the seat number for this screening as an integer.
      */
     public int getTicketCount() {
-        return this.aTicketCount;
+        return this.aTicketCount.get();
     }
 
     /**
-     * Sets the number of tickets available for this screening.
+     * Takes one ticket from the tickets available for this screening.
      *
-     * @param aTicketCount the number of tickets
+     * @return {@code true} if a ticket was taken, {@code false} if none is left
      */
-    public void setTicketCount(int aTicketCount) {
-        this.aTicketCount = aTicketCount;
+    public boolean takeTicket() {
+        int count;
+        do {
+            count = this.aTicketCount.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!this.aTicketCount.compareAndSet(count, count - 1));
+        return true;
     }
 
     /**
-     * Retrieves the price of the screening.
-     *
-     * @return the price of the screening as a double.
+     * Gives back a ticket taken with {@link #takeTicket()}.
      */
-    public double getPricePerTicket() {
-        return aPricePerTicket;
+    public void returnTicket() {
+        this.aTicketCount.incrementAndGet();
     }
 
     /**
-     * Sets the price per ticket for this screening.
+     * Retrieves the price of the screening.
      *
-     * @param pPricePerTicket the price per ticket
+     * @return the price of a ticket of the screening, in cents.
      */
-    public void setPricePerTicket(double pPricePerTicket) {
-        this.aPricePerTicket = pPricePerTicket;
+    public long getPricePerTicketInCents() {
+        return aPricePerTicketInCents;
     }
 
     /**
@@ -132,18 +242,46 @@ public class Screening {
     }
 
     /**
-     * Sets the date and time for this screening.
+     * Retrieves the seat inventory of this screening.
      *
-     * @param pDateTime the LocalDateTime to set
+     * @return the seats of this screening, or {@code null} if it is not scheduled in a showroom yet
      */
-    public void setDateTime(LocalDateTime pDateTime) {
-        if (pDateTime == null) {
-            throw new IllegalArgumentException("DateTime cannot be null");
-        }
-        if (pDateTime.isBefore(LocalDateTime.now())) {
-            throw new IllegalArgumentException("DateTime cannot be in the past.");
+    public SeatMap getSeats() {
+        return this.aSeats;
+    }
+
+    /**
+     * Retrieves the showroom in which this screening is scheduled.
+     *
+     * @return the showroom holding this screening, or {@code null} if it is not scheduled in one
+     */
+    public Showroom getShowroom() {
+        return this.aShowroom;
+    }
+
+    /**
+     * Sets the showroom in which this screening is scheduled; maintained by {@link Showroom}.
+     *
+     * @param pShowroom the showroom holding this screening, or {@code null}
+     */
+    void setShowroom(Showroom pShowroom) {
+        this.aShowroom = pShowroom;
+    }
+
+    /**
+     * Sizes the seat inventory of this screening to the capacity of its showroom, keeping
+     * every claimed seat.
+     *
+     * @param pCapacity the capacity of the showroom holding this screening
+     * @throws IllegalArgumentException if a seat is claimed at or beyond the capacity
+     */
+    public void sizeSeats(int pCapacity) {
+        SeatMap seats = this.aSeats;
+        if (seats == null) {
+            this.aSeats = new SeatMap(pCapacity);
+        } else if (seats.getCapacity() != pCapacity) {
+            seats.setCapacity(pCapacity);
         }
-        this.aDateTime = pDateTime;
     }
 
     /**
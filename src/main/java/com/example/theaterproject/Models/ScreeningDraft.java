@@ -0,0 +1,158 @@
+package com.example.theaterproject.Models;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Screenings of a showroom being edited, shown as an observable list until the edit is saved.
+ *
+ * <p>
+ * A draft starts from a version of the screenings, such as the one a showroom publishes,
+ * without copying it. Each edit derives a new {@link ScreeningTree} in O(log n) and notifies
+ * listeners of the single position that changed, so opening the editor of a large showroom
+ * and editing a few screenings allocates next to nothing. Earlier versions are kept, which
+ * makes undoing an edit free.
+ * </p>
+ *
+ * <p>
+ * The list itself cannot be modified through the {@link java.util.List} methods; edits go
+ * through {@link #addScreening}, {@link #replaceScreening} and {@link #removeScreening}.
+ * </p>
+ */
+public class ScreeningDraft extends ObservableListBase<Screening> {
+
+    private final ScreeningTree aBase;
+
+    private ScreeningTree aScreenings;
+
+    /**
+     * Versions of the screenings before each edit, the latest first.
+     */
+    private final Deque<ScreeningTree> aHistory = new ArrayDeque<>();
+
+    /**
+     * Creates a draft starting from the given screenings.
+     *
+     * @param pBase the screenings to edit
+     */
+    public ScreeningDraft(ScreeningTree pBase) {
+        this.aBase = pBase;
+        this.aScreenings = pBase;
+    }
+
+    /**
+     * Retrieves the screenings the draft started from.
+     *
+     * @return the screenings before any edit
+     */
+    public ScreeningTree getBase() {
+        return this.aBase;
+    }
+
+    /**
+     * Retrieves the screenings with every edit applied.
+     *
+     * @return the edited screenings
+     */
+    public ScreeningTree getScreenings() {
+        return this.aScreenings;
+    }
+
+    /**
+     * Finds a screening of the draft that overlaps the given screening.
+     *
+     * @param pScreening the screening to check
+     * @param pIgnored   a screening to leave out of the check, such as the one being edited; may be {@code null}
+     * @return an overlapping screening, or {@code null} if there is none
+     */
+    public Screening findConflict(Screening pScreening, Screening pIgnored) {
+        return this.aScreenings.findConflict(pScreening, pIgnored);
+    }
+
+    /**
+     * Adds a screening to the draft.
+     *
+     * @param pScreening the screening to add
+     */
+    public void addScreening(Screening pScreening) {
+        this.aHistory.push(this.aScreenings);
+        this.aScreenings = this.aScreenings.with(pScreening);
+        int index = this.aScreenings.indexOf(pScreening);
+        beginChange();
+        nextAdd(index, index + 1);
+        endChange();
+    }
+
+    /**
+     * Replaces a screening of the draft with its edited copy.
+     *
+     * @param pOriginal the screening to replace
+     * @param pEdited   the edited screening
+     */
+    public void replaceScreening(Screening pOriginal, Screening pEdited) {
+        int removedIndex = this.aScreenings.indexOf(pOriginal);
+        if (removedIndex < 0) {
+            return;
+        }
+        this.aHistory.push(this.aScreenings);
+        beginChange();
+        this.aScreenings = this.aScreenings.without(pOriginal);
+        nextRemove(removedIndex, pOriginal);
+        this.aScreenings = this.aScreenings.with(pEdited);
+        int addedIndex = this.aScreenings.indexOf(pEdited);
+        nextAdd(addedIndex, addedIndex + 1);
+        endChange();
+    }
+
+    /**
+     * Removes a screening from the draft.
+     *
+     * @param pScreening the screening to remove
+     */
+    public void removeScreening(Screening pScreening) {
+        int index = this.aScreenings.indexOf(pScreening);
+        if (index < 0) {
+            return;
+        }
+        this.aHistory.push(this.aScreenings);
+        this.aScreenings = this.aScreenings.without(pScreening);
+        beginChange();
+        nextRemove(index, pScreening);
+        endChange();
+    }
+
+    /**
+     * Reverts the last edit of the draft.
+     *
+     * @return {@code true} if an edit was reverted, {@code false} if there was none
+     */
+    public boolean undo() {
+        if (this.aHistory.isEmpty()) {
+            return false;
+        }
+        ScreeningTree edited = this.aScreenings;
+        this.aScreenings = this.aHistory.pop();
+        // the versions share most of their nodes, but not their positions, so the whole list is replaced
+        beginChange();
+        if (!edited.isEmpty()) {
+            nextRemove(0, edited);
+        }
+        if (!this.aScreenings.isEmpty()) {
+            nextAdd(0, this.aScreenings.size());
+        }
+        endChange();
+        return true;
+    }
+
+    @Override
+    public Screening get(int pIndex) {
+        return this.aScreenings.get(pIndex);
+    }
+
+    @Override
+    public int size() {
+        return this.aScreenings.size();
+    }
+}
@@ -0,0 +1,433 @@
+package com.example.theaterproject.Models;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable list of screenings ordered by start time, where every change yields a new list.
+ *
+ * <p>
+ * The screenings are held in a balanced tree whose nodes are never modified. Adding or
+ * removing a screening copies only the nodes on the path to it, O(log n) of them, and the
+ * new list shares every other node with the previous one. Keeping an earlier version, to
+ * publish it to other threads, to undo a change or to start an edit session, is therefore
+ * free: it is the same object, and it stays valid however the newer versions change.
+ * </p>
+ *
+ * <p>
+ * Screenings starting at the same time are kept in the order they were added. Accessing a
+ * screening by position costs O(log n) since each node knows the size of its subtree.
+ * </p>
+ *
+ * <p>
+ * The same ordering answers the time queries of a showroom: a conflict check, the next
+ * screening, the screening playing at a given time and the screenings starting in a range
+ * each cost O(log n), plus the number of screenings returned.
+ * </p>
+ */
+public final class ScreeningTree extends AbstractList<Screening> {
+
+    private static final ScreeningTree EMPTY = new ScreeningTree(null);
+
+    private final Node aRoot;
+
+    private ScreeningTree(Node pRoot) {
+        this.aRoot = pRoot;
+    }
+
+    /**
+     * Returns the empty list of screenings.
+     *
+     * @return the empty list
+     */
+    public static ScreeningTree empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a list holding the given screenings, ordered by start time.
+     *
+     * @param pScreenings the screenings
+     * @return the list of screenings
+     */
+    public static ScreeningTree of(Collection<? extends Screening> pScreenings) {
+        if (pScreenings instanceof ScreeningTree tree) {
+            return tree;
+        }
+        List<Screening> sorted = new ArrayList<>(pScreenings);
+        sorted.sort(Comparator.comparing(Screening::getDateTime));
+        return sorted.isEmpty() ? EMPTY : new ScreeningTree(build(sorted, 0, sorted.size()));
+    }
+
+    /**
+     * Returns a list holding the screenings of this list and the given one.
+     *
+     * @param pScreening the screening to add
+     * @return the new list
+     */
+    public ScreeningTree with(Screening pScreening) {
+        return new ScreeningTree(insert(aRoot, pScreening, pScreening.getDateTime()));
+    }
+
+    /**
+     * Returns a list holding the screenings of this list but the given one.
+     *
+     * @param pScreening the screening to remove
+     * @return the new list, or this list if it does not hold the screening
+     */
+    public ScreeningTree without(Screening pScreening) {
+        int index = indexOf(pScreening);
+        if (index < 0) {
+            return this;
+        }
+        Node root = removeAt(aRoot, index);
+        return root == null ? EMPTY : new ScreeningTree(root);
+    }
+
+    /**
+     * Finds a screening of this list that overlaps the given screening, assuming the screenings
+     * of this list do not overlap each other. Screenings that only touch are considered overlapping.
+     *
+     * @param pScreening the screening to check
+     * @param pIgnored   a screening to leave out of the check, such as the one being edited; may be {@code null}
+     * @return an overlapping screening, or {@code null} if there is none
+     */
+    public Screening findConflict(Screening pScreening, Screening pIgnored) {
+        LocalDateTime start = pScreening.getDateTime();
+        LocalDateTime end = ShowroomSchedule.endOf(pScreening);
+        // walk back from the last screening starting at or before the end of the candidate
+        LocalDateTime candidateStart = null;
+        for (int i = countStartingBefore(end, true) - 1; i >= 0; i--) {
+            Node node = nodeAt(i);
+            if (candidateStart != null && !node.aStart.equals(candidateStart)) {
+                return null;
+            }
+            if (node.aScreening == pIgnored) {
+                continue;
+            }
+            if (!ShowroomSchedule.endOf(node.aScreening).isBefore(start)) {
+                return node.aScreening;
+            }
+            // screenings starting at the same time may still overlap it
+            candidateStart = node.aStart;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the screening starting at a given time.
+     *
+     * @param pStart the start time
+     * @return the screening starting at that time, or {@code null} if there is none
+     */
+    public Screening getScreeningAt(LocalDateTime pStart) {
+        int index = countStartingBefore(pStart, false);
+        if (index < size()) {
+            Node node = nodeAt(index);
+            if (node.aStart.equals(pStart)) {
+                return node.aScreening;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the first screening starting at or after a given time.
+     *
+     * @param pTime the time
+     * @return the next screening, or {@code null} if none starts at or after that time
+     */
+    public Screening getNextScreening(LocalDateTime pTime) {
+        int index = countStartingBefore(pTime, false);
+        return index < size() ? nodeAt(index).aScreening : null;
+    }
+
+    /**
+     * Finds the screening playing at a given time, that is, started at or before that
+     * time and not ended yet.
+     *
+     * @param pTime the time
+     * @return the screening playing at that time, or {@code null} if there is none
+     */
+    public Screening getNowPlaying(LocalDateTime pTime) {
+        int index = countStartingBefore(pTime, true) - 1;
+        if (index < 0) {
+            return null;
+        }
+        // only the screenings starting last at or before the time may still be playing
+        LocalDateTime start = nodeAt(index).aStart;
+        for (int i = index; i >= 0; i--) {
+            Node node = nodeAt(i);
+            if (!node.aStart.equals(start)) {
+                break;
+            }
+            if (ShowroomSchedule.endOf(node.aScreening).isAfter(pTime)) {
+                return node.aScreening;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the screenings starting in a range of time.
+     *
+     * @param pFrom the start of the range, inclusive
+     * @param pTo   the end of the range, exclusive
+     * @return the screenings starting in the range, ordered by start time
+     */
+    public List<Screening> getScreeningsBetween(LocalDateTime pFrom, LocalDateTime pTo) {
+        List<Screening> screenings = new ArrayList<>();
+        if (pFrom.isBefore(pTo)) {
+            int from = countStartingBefore(pFrom, false);
+            int to = countStartingBefore(pTo, false);
+            Iterator<Screening> iterator = iterator(from);
+            for (int i = from; i < to; i++) {
+                screenings.add(iterator.next());
+            }
+        }
+        return screenings;
+    }
+
+    @Override
+    public Screening get(int pIndex) {
+        if (pIndex < 0 || pIndex >= size()) {
+            throw new IndexOutOfBoundsException("Index " + pIndex + " out of bounds for size " + size());
+        }
+        return nodeAt(pIndex).aScreening;
+    }
+
+    @Override
+    public int size() {
+        return size(aRoot);
+    }
+
+    @Override
+    public int indexOf(Object pObject) {
+        return pObject instanceof Screening screening ? indexOf(screening, screening.getDateTime()) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object pObject) {
+        // a screening is held at most once
+        return indexOf(pObject);
+    }
+
+    @Override
+    public boolean contains(Object pObject) {
+        return indexOf(pObject) >= 0;
+    }
+
+    @Override
+    public Iterator<Screening> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Finds the position of a screening starting at a given time, comparing screenings by identity.
+     */
+    private int indexOf(Screening pScreening, LocalDateTime pStart) {
+        int size = size();
+        for (int i = countStartingBefore(pStart, false); i < size; i++) {
+            Node node = nodeAt(i);
+            if (!node.aStart.equals(pStart)) {
+                return -1;
+            }
+            if (node.aScreening == pScreening) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Iterates over the screenings from a given position on, in O(log n) to start and
+     * O(1) amortized per screening.
+     */
+    private Iterator<Screening> iterator(int pFrom) {
+        return new Iterator<>() {
+            private final Deque<Node> aPath = new ArrayDeque<>();
+
+            {
+                // keeps the nodes after which the iteration goes on, down to the first one
+                Node node = aRoot;
+                int index = pFrom;
+                while (node != null) {
+                    int leftSize = size(node.aLeft);
+                    if (index < leftSize) {
+                        aPath.push(node);
+                        node = node.aLeft;
+                    } else if (index > leftSize) {
+                        index -= leftSize + 1;
+                        node = node.aRight;
+                    } else {
+                        aPath.push(node);
+                        node = null;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !aPath.isEmpty();
+            }
+
+            @Override
+            public Screening next() {
+                if (aPath.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = aPath.pop();
+                descend(node.aRight);
+                return node.aScreening;
+            }
+
+            private void descend(Node pNode) {
+                for (Node node = pNode; node != null; node = node.aLeft) {
+                    aPath.push(node);
+                }
+            }
+        };
+    }
+
+    /**
+     * Counts the screenings starting before a given time, or at that time as well if {@code pInclusive}.
+     */
+    private int countStartingBefore(LocalDateTime pTime, boolean pInclusive) {
+        int count = 0;
+        Node node = aRoot;
+        while (node != null) {
+            int comparison = node.aStart.compareTo(pTime);
+            if (comparison < 0 || comparison == 0 && pInclusive) {
+                count += size(node.aLeft) + 1;
+                node = node.aRight;
+            } else {
+                node = node.aLeft;
+            }
+        }
+        return count;
+    }
+
+    private Node nodeAt(int pIndex) {
+        Node node = aRoot;
+        int index = pIndex;
+        while (true) {
+            int leftSize = size(node.aLeft);
+            if (index < leftSize) {
+                node = node.aLeft;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.aRight;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private static Node build(List<Screening> pSorted, int pFrom, int pTo) {
+        if (pFrom >= pTo) {
+            return null;
+        }
+        int middle = (pFrom + pTo) >>> 1;
+        Screening screening = pSorted.get(middle);
+        return new Node(screening, screening.getDateTime(),
+                build(pSorted, pFrom, middle), build(pSorted, middle + 1, pTo));
+    }
+
+    private static Node insert(Node pNode, Screening pScreening, LocalDateTime pStart) {
+        if (pNode == null) {
+            return new Node(pScreening, pStart, null, null);
+        }
+        // screenings starting at the same time go after the ones already there
+        if (pStart.isBefore(pNode.aStart)) {
+            return balance(pNode.aScreening, pNode.aStart, insert(pNode.aLeft, pScreening, pStart), pNode.aRight);
+        }
+        return balance(pNode.aScreening, pNode.aStart, pNode.aLeft, insert(pNode.aRight, pScreening, pStart));
+    }
+
+    private static Node removeAt(Node pNode, int pIndex) {
+        int leftSize = size(pNode.aLeft);
+        if (pIndex < leftSize) {
+            return balance(pNode.aScreening, pNode.aStart, removeAt(pNode.aLeft, pIndex), pNode.aRight);
+        }
+        if (pIndex > leftSize) {
+            return balance(pNode.aScreening, pNode.aStart, pNode.aLeft, removeAt(pNode.aRight, pIndex - leftSize - 1));
+        }
+        if (pNode.aLeft == null) {
+            return pNode.aRight;
+        }
+        if (pNode.aRight == null) {
+            return pNode.aLeft;
+        }
+        Node successor = pNode.aRight;
+        while (successor.aLeft != null) {
+            successor = successor.aLeft;
+        }
+        return balance(successor.aScreening, successor.aStart, pNode.aLeft, removeAt(pNode.aRight, 0));
+    }
+
+    /**
+     * Creates a node from subtrees whose heights differ by at most two, rotating them back into balance.
+     */
+    private static Node balance(Screening pScreening, LocalDateTime pStart, Node pLeft, Node pRight) {
+        int leftHeight = height(pLeft);
+        int rightHeight = height(pRight);
+        if (leftHeight > rightHeight + 1) {
+            if (height(pLeft.aLeft) >= height(pLeft.aRight)) {
+                return new Node(pLeft.aScreening, pLeft.aStart, pLeft.aLeft,
+                        new Node(pScreening, pStart, pLeft.aRight, pRight));
+            }
+            Node middle = pLeft.aRight;
+            return new Node(middle.aScreening, middle.aStart,
+                    new Node(pLeft.aScreening, pLeft.aStart, pLeft.aLeft, middle.aLeft),
+                    new Node(pScreening, pStart, middle.aRight, pRight));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(pRight.aRight) >= height(pRight.aLeft)) {
+                return new Node(pRight.aScreening, pRight.aStart,
+                        new Node(pScreening, pStart, pLeft, pRight.aLeft), pRight.aRight);
+            }
+            Node middle = pRight.aLeft;
+            return new Node(middle.aScreening, middle.aStart,
+                    new Node(pScreening, pStart, pLeft, middle.aLeft),
+                    new Node(pRight.aScreening, pRight.aStart, middle.aRight, pRight.aRight));
+        }
+        return new Node(pScreening, pStart, pLeft, pRight);
+    }
+
+    private static int size(Node pNode) {
+        return pNode == null ? 0 : pNode.aSize;
+    }
+
+    private static int height(Node pNode) {
+        return pNode == null ? 0 : pNode.aHeight;
+    }
+
+    /**
+     * Immutable node of the tree, holding a screening with the start time it was added under.
+     */
+    private static final class Node {
+        private final Screening aScreening;
+        private final LocalDateTime aStart;
+        private final Node aLeft;
+        private final Node aRight;
+        private final int aHeight;
+        private final int aSize;
+
+        private Node(Screening pScreening, LocalDateTime pStart, Node pLeft, Node pRight) {
+            this.aScreening = pScreening;
+            this.aStart = pStart;
+            this.aLeft = pLeft;
+            this.aRight = pRight;
+            this.aHeight = Math.max(height(pLeft), height(pRight)) + 1;
+            this.aSize = size(pLeft) + size(pRight) + 1;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.theaterproject.Models;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Seat inventory of a screening.
+ *
+ * <p>
+ * Seats are numbered from 0 to the capacity minus one and stored as a bitmap of
+ * {@code long} words, one bit per seat. Seats are claimed and released with
+ * compare-and-set operations on the word holding them, so concurrent purchases never
+ * sell the same seat twice and never wait on a lock. Purchases on different parts of
+ * the room touch different words and do not contend with each other.
+ * </p>
+ */
+public class SeatMap {
+    /**
+     * The number of seats in the map.
+     */
+    private volatile int aCapacity;
+
+    /**
+     * The seat bitmap; bit {@code i % 64} of word {@code i / 64} is set when seat {@code i} is claimed.
+     * Replaced as a whole when the map is resized.
+     */
+    private volatile AtomicLongArray aWords;
+
+    /**
+     * Index of a word likely to hold a free seat, where searches for any free seat begin.
+     */
+    private volatile int aSearchStart = 0;
+
+    /**
+     * Constructs a seat map in which every seat is free.
+     *
+     * @param pCapacity the number of seats; must not be negative
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public SeatMap(int pCapacity) {
+        if (pCapacity < 0) {
+            throw new IllegalArgumentException("Seat capacity cannot be negative.");
+        }
+        this.aCapacity = pCapacity;
+        this.aWords = new AtomicLongArray((pCapacity + 63) >>> 6);
+    }
+
+    /**
+     * Restores a seat map from the words returned by {@link #toWords()}.
+     *
+     * @param pCapacity the number of seats
+     * @param pWords    the seat bitmap; bits beyond the capacity are ignored
+     * @return the restored seat map
+     */
+    public static SeatMap fromWords(int pCapacity, long[] pWords) {
+        SeatMap seats = new SeatMap(pCapacity);
+        seats.aWords = toBitmap(pCapacity, pWords);
+        return seats;
+    }
+
+    /**
+     * Returns the number of seats in the map.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return this.aCapacity;
+    }
+
+    /**
+     * Claims a specific seat.
+     *
+     * @param pSeat the seat number
+     * @return {@code true} if the seat was free and is now claimed, {@code false} if it was already claimed
+     * @throws IndexOutOfBoundsException if the seat number is not in the map
+     */
+    public boolean claim(int pSeat) {
+        checkSeat(pSeat);
+        AtomicLongArray words = aWords;
+        int index = pSeat >>> 6;
+        long mask = 1L << pSeat;
+        long word;
+        do {
+            word = words.get(index);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(index, word, word | mask));
+        return true;
+    }
+
+    /**
+     * Claims the lowest-numbered free seat found.
+     *
+     * @return the claimed seat number, or -1 if every seat is claimed
+     */
+    public int claimAny() {
+        AtomicLongArray words = aWords;
+        int capacity = aCapacity;
+        int start = Math.min(aSearchStart, words.length());
+        int seat = claimAnyBetween(words, capacity, start, words.length());
+        if (seat < 0 && start > 0) {
+            seat = claimAnyBetween(words, capacity, 0, start);
+        }
+        return seat;
+    }
+
+    /**
+     * Releases a claimed seat.
+     *
+     * @param pSeat the seat number
+     * @return {@code true} if the seat was claimed and is now free, {@code false} if it was already free
+     * @throws IndexOutOfBoundsException if the seat number is not in the map
+     */
+    public boolean release(int pSeat) {
+        checkSeat(pSeat);
+        AtomicLongArray words = aWords;
+        int index = pSeat >>> 6;
+        long mask = 1L << pSeat;
+        long word;
+        do {
+            word = words.get(index);
+            if ((word & mask) == 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(index, word, word & ~mask));
+        if (index < aSearchStart) {
+            aSearchStart = index;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a seat is claimed.
+     *
+     * @param pSeat the seat number
+     * @return {@code true} if the seat is claimed
+     * @throws IndexOutOfBoundsException if the seat number is not in the map
+     */
+    public boolean isClaimed(int pSeat) {
+        checkSeat(pSeat);
+        return (aWords.get(pSeat >>> 6) & (1L << pSeat)) != 0;
+    }
+
+    /**
+     * Counts the claimed seats.
+     *
+     * @return the number of claimed seats
+     */
+    public int getClaimedCount() {
+        AtomicLongArray words = aWords;
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Finds the highest-numbered claimed seat.
+     *
+     * @return the highest claimed seat number, or -1 if every seat is free
+     */
+    public int getHighestClaimed() {
+        AtomicLongArray words = aWords;
+        for (int index = words.length() - 1; index >= 0; index--) {
+            long word = words.get(index);
+            if (word != 0) {
+                return (index << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the free seats.
+     *
+     * @return the number of free seats
+     */
+    public int getAvailableCount() {
+        return aCapacity - getClaimedCount();
+    }
+
+    /**
+     * Copies the seat bitmap, for instance to save it.
+     *
+     * @return the words of the bitmap
+     */
+    public long[] toWords() {
+        AtomicLongArray bitmap = aWords;
+        long[] words = new long[bitmap.length()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = bitmap.get(i);
+        }
+        return words;
+    }
+
+    /**
+     * Changes the number of seats, keeping every claimed seat.
+     *
+     * <p>
+     * Seats claimed or released while the map is resized may be lost, so resizing must not
+     * run concurrently with claims; {@link Showroom} resizes the seats of its screenings
+     * while the showroom service holds the showroom's write lock.
+     * </p>
+     *
+     * @param pCapacity the new number of seats; must not be negative
+     * @throws IllegalArgumentException if the capacity is negative or leaves out a claimed seat
+     */
+    public void setCapacity(int pCapacity) {
+        if (pCapacity < 0) {
+            throw new IllegalArgumentException("Seat capacity cannot be negative.");
+        }
+        int highestClaimed = getHighestClaimed();
+        if (highestClaimed >= pCapacity) {
+            throw new IllegalArgumentException("Seat capacity cannot go below " + (highestClaimed + 1)
+                    + " since seat " + highestClaimed + " is claimed.");
+        }
+        AtomicLongArray bitmap = toBitmap(pCapacity, toWords());
+        // every seat number below the capacity must have a word: a smaller bitmap is
+        // published after lowering the capacity, a larger one before raising it
+        if (pCapacity < aCapacity) {
+            aCapacity = pCapacity;
+            aWords = bitmap;
+        } else {
+            aWords = bitmap;
+            aCapacity = pCapacity;
+        }
+        aSearchStart = 0;
+    }
+
+    /**
+     * Claims the first free seat found in the words from {@code pFrom} (inclusive) to {@code pTo} (exclusive).
+     *
+     * @return the claimed seat number, or -1 if those words have no free seat
+     */
+    private int claimAnyBetween(AtomicLongArray pWords, int pCapacity, int pFrom, int pTo) {
+        for (int index = pFrom; index < pTo; index++) {
+            long seatMask = seatMask(pCapacity, index);
+            long word = pWords.get(index);
+            while ((word & seatMask) != seatMask) {
+                long bit = Long.lowestOneBit(~word & seatMask);
+                if (pWords.compareAndSet(index, word, word | bit)) {
+                    return (index << 6) + Long.numberOfTrailingZeros(bit);
+                }
+                word = pWords.get(index);
+            }
+            // the word is full; later searches can start after it
+            if (index == aSearchStart) {
+                aSearchStart = index + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds a bitmap for the given capacity from words, dropping bits beyond the capacity.
+     */
+    private static AtomicLongArray toBitmap(int pCapacity, long[] pWords) {
+        AtomicLongArray bitmap = new AtomicLongArray((pCapacity + 63) >>> 6);
+        int count = Math.min(pWords.length, bitmap.length());
+        for (int i = 0; i < count; i++) {
+            bitmap.set(i, pWords[i] & seatMask(pCapacity, i));
+        }
+        return bitmap;
+    }
+
+    /**
+     * Returns the bits of a word that correspond to seats; only the last word can be partial.
+     */
+    private static long seatMask(int pCapacity, int pIndex) {
+        int seatsInWord = pCapacity - (pIndex << 6);
+        return seatsInWord <= 0 ? 0 : seatsInWord >= 64 ? -1L : (1L << seatsInWord) - 1;
+    }
+
+    private void checkSeat(int pSeat) {
+        if (pSeat < 0 || pSeat >= aCapacity) {
+            throw new IndexOutOfBoundsException("Seat " + pSeat + " is not in a room of " + aCapacity + " seats");
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.example.theaterproject.Models;
 
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,6 +14,10 @@ import java.util.List;
  * attributes.
  */
 public class Showroom {
+    /**
+     * The ID of the showroom.
+     */
+    private final int aId;
     /**
      * The name of the showroom.
      */
@@ -23,9 +28,16 @@ public class Showroom {
      */
     private int aCapacity;
     /**
-     * The list of screenings scheduled in this showroom.
+     * The screenings scheduled in this showroom, ordered by start time. Each change publishes
+     * a new version, derived from the previous one in O(log n) per screening changed, so other
+     * threads can read the screenings of the showroom without a lock.
+     */
+    private volatile ScreeningTree aScreenings;
+    /**
+     * Observable view of {@link #aScreenings}, notifying listeners of the positions each change
+     * touched.
      */
-    private ObservableList<Screening> aScreenings;
+    private final ScreeningList aScreeningList = new ScreeningList();
 
     /**
      * Constructs a new {@code Showroom} with the specified name and capacity.
@@ -38,27 +50,61 @@ public class Showroom {
      *
      * @param pName        the name of the showroom; must not be blank
      * @param pCapacity    the seating capacity; must be greater than zero
-     * @param pScreenings  the initial list of screenings for this showroom; must not be {@code null}
+     * @param pScreenings  the initial screenings of this showroom, copied into the list of the showroom;
+     *                     must not be {@code null}
+     * @throws IllegalArgumentException if the name is blank, the capacity is not positive or two
+     *                                  screenings overlap
      */
     public Showroom(String pName, int pCapacity, ObservableList<Screening> pScreenings) {
+        this(IdRegistry.next(IdRegistry.Kind.SHOWROOM), pName, pCapacity, pScreenings);
+    }
+
+    /**
+     * Constructs a {@code Showroom} under an existing ID, such as a showroom restored from a save.
+     *
+     * @param pId          the ID of the showroom
+     * @param pName        the name of the showroom; must not be blank
+     * @param pCapacity    the seating capacity; must be greater than zero
+     * @param pScreenings  the initial screenings of this showroom, copied into the list of the showroom;
+     *                     must not be {@code null}
+     * @throws IllegalArgumentException if the name is blank, the capacity is not positive or two
+     *                                  screenings overlap
+     */
+    public Showroom(int pId, String pName, int pCapacity, ObservableList<Screening> pScreenings) {
         if (pName == null || pName.isBlank()) {
             throw new IllegalArgumentException("Showroom name cannot be empty");
         }
         if (pCapacity <= 0) {
             throw new IllegalArgumentException("Showroom capacity cannot be 0 or below.");
         }
+        this.aId = IdRegistry.reserve(IdRegistry.Kind.SHOWROOM, pId);
         this.aName = pName;
         this.aCapacity = pCapacity;
-        this.aScreenings = pScreenings;
+        ScreeningTree screenings = ScreeningTree.of(pScreenings);
+        ShowroomSchedule.validate(screenings);
+        this.aScreenings = screenings;
+        for (Screening screening : this.aScreenings) {
+            attach(screening);
+        }
     }
 
     /**
      * Default constructor creating an empty showroom with zero capacity and no screenings.
      */
     public Showroom(){
+        this.aId = IdRegistry.next(IdRegistry.Kind.SHOWROOM);
         this.aName = "";
         this.aCapacity = 0;
-        this.aScreenings = FXCollections.observableArrayList();
+        this.aScreenings = ScreeningTree.empty();
+    }
+
+    /**
+     * Returns the ID of the showroom.
+     *
+     * @return the showroom ID
+     */
+    public int getId() {
+        return this.aId;
     }
 
     /**
@@ -89,55 +135,124 @@ public class Showroom {
     }
 
     /**
-     * Sets the seating capacity of the showroom.
+     * Sets the seating capacity of the showroom and resizes the seats of its screenings.
+     * The capacity cannot go below a seat already sold for one of the screenings, which
+     * would otherwise be sold again once the capacity grows back.
      *
      * @param pCapacity the new seating capacity
+     * @throws IllegalArgumentException if the capacity is not positive or leaves out a seat already sold
      */
     public void setShowroomCapacity(int pCapacity) {
+        if (pCapacity <= 0) {
+            throw new IllegalArgumentException("Showroom capacity cannot be 0 or below.");
+        }
+        // checked for every screening before resizing any of them
+        for (Screening screening : this.aScreenings) {
+            SeatMap seats = screening.getSeats();
+            if (seats != null && seats.getHighestClaimed() >= pCapacity) {
+                throw new IllegalArgumentException("Showroom capacity cannot go below " + (seats.getHighestClaimed() + 1)
+                        + ": seats up to that number are already sold for the screening of " + screening + ".");
+            }
+        }
         this.aCapacity = pCapacity;
+        for (Screening screening : this.aScreenings) {
+            screening.sizeSeats(pCapacity);
+        }
     }
 
     /**
-     * Retrieves the list of screenings for this showroom.
+     * Retrieves the list of screenings for this showroom, ordered by start time. The list is a
+     * read-only view of the screenings, to be read and listened to on the JavaFX application
+     * thread; the screenings are changed through {@link #updateScreenings}.
      *
      * @return an ObservableList of screenings in this showroom
      */
     public ObservableList<Screening> getShowroomScreenings() {
+        return this.aScreeningList;
+    }
+
+    /**
+     * Retrieves the screenings of this showroom, ordered by start time, which may be read from
+     * any thread. Retrieving them copies nothing, and the returned version remains unchanged
+     * however the screenings of the showroom change afterwards.
+     *
+     * @return the screenings as of their last change
+     */
+    public ScreeningTree getScreeningsSnapshot() {
         return this.aScreenings;
     }
 
     /**
-     * Sets the list of screenings for this showroom.
+     * Removes some screenings from this showroom and adds others, notifying listeners of the
+     * screenings with a single change event. The change is validated as a whole before any of
+     * it is applied, so a rejected change leaves the showroom unchanged.
+     *
+     * <p>
+     * Screenings are scheduled through
+     * {@link com.example.theaterproject.Services.ShowroomService#updateScreenings}, which
+     * keeps them from racing ticket purchases.
+     * </p>
+     *
+     * @param pRemoved the screenings to remove, compared by identity
+     * @param pAdded   the screenings to add
+     * @throws IllegalArgumentException if an added screening overlaps another screening of the
+     *                                  showroom, or has a seat sold beyond its capacity
+     */
+    public void updateScreenings(Collection<Screening> pRemoved, Collection<Screening> pAdded) {
+        if (pRemoved.isEmpty() && pAdded.isEmpty()) {
+            return;
+        }
+        this.aScreeningList.update(pRemoved, pAdded);
+    }
+
+    /**
+     * Retrieves the next screening of this showroom, the first one starting from now on.
+     *
+     * @return the next screening, or {@code null} if none is scheduled
+     */
+    public Screening getNextScreening() {
+        return this.aScreenings.getNextScreening(LocalDateTime.now());
+    }
+
+    /**
+     * Retrieves the screening playing in this showroom right now.
      *
-     * @param pScreenings the new list of screenings
+     * @return the screening playing now, or {@code null} if there is none
      */
-    public void setShowroomScreenings(ObservableList<Screening> pScreenings) {
-        this.aScreenings = pScreenings;
+    public Screening getNowPlaying() {
+        return this.aScreenings.getNowPlaying(LocalDateTime.now());
     }
 
     /**
-     * Adds a screening to this showroom's list of screenings.
+     * Retrieves the screenings of this showroom starting in a range of time.
      *
-     * @param pScreening the screening to add
+     * @param pFrom the start of the range, inclusive
+     * @param pTo   the end of the range, exclusive
+     * @return the screenings starting in the range, ordered by start time
      */
-    public void addScreening(Screening pScreening) {
-        this.aScreenings.add(pScreening);
+    public List<Screening> getScreeningsBetween(LocalDateTime pFrom, LocalDateTime pTo) {
+        return this.aScreenings.getScreeningsBetween(pFrom, pTo);
     }
 
     /**
-     * Removes a screening from this showroom's list of screenings.
+     * Attaches a screening to this showroom and sizes its seats from the capacity.
      *
-     * @param pScreening the screening to remove
+     * @param pScreening the screening scheduled in this showroom
      */
-    public void removeScreening(Screening pScreening) {
-        this.aScreenings.remove(pScreening);
+    private void attach(Screening pScreening) {
+        pScreening.sizeSeats(this.aCapacity);
+        pScreening.setShowroom(this);
     }
 
     /**
-     * Removes all screenings currently scheduled in this showroom.
+     * Detaches a screening removed from this showroom.
+     *
+     * @param pScreening the screening no longer scheduled in this showroom
      */
-    public void resetScreenings() {
-        this.aScreenings.clear();
+    private void detach(Screening pScreening) {
+        if (pScreening.getShowroom() == this) {
+            pScreening.setShowroom(null);
+        }
     }
 
     /**
@@ -149,4 +264,73 @@ public class Showroom {
     public String toString() {
         return "Showroom: " + this.aName + "Capacity: " + this.aCapacity;
     }
+
+    /**
+     * Observable view of the screenings of the showroom. Each change derives a new version of
+     * the screenings, publishes it, and notifies listeners of the positions it touched, which
+     * are read from the new version.
+     */
+    private final class ScreeningList extends ObservableListBase<Screening> {
+
+        /**
+         * Removes and adds screenings, attaching the added ones to the showroom and detaching
+         * the removed ones.
+         */
+        private void update(Collection<Screening> pRemoved, Collection<Screening> pAdded) {
+            // derive the new screenings first, recording each position as the change builder expects it
+            ScreeningTree screenings = aScreenings;
+            List<Screening> removed = new ArrayList<>(pRemoved.size());
+            int[] removedIndexes = new int[pRemoved.size()];
+            for (Screening screening : pRemoved) {
+                int index = screenings.indexOf(screening);
+                if (index >= 0) {
+                    screenings = screenings.without(screening);
+                    removedIndexes[removed.size()] = index;
+                    removed.add(screening);
+                }
+            }
+            int[] addedIndexes = new int[pAdded.size()];
+            int addedCount = 0;
+            for (Screening screening : pAdded) {
+                Screening conflict = screenings.findConflict(screening, null);
+                if (conflict != null) {
+                    throw new IllegalArgumentException(ShowroomSchedule.conflictMessage(screening, conflict));
+                }
+                SeatMap seats = screening.getSeats();
+                if (seats != null && seats.getHighestClaimed() >= aCapacity) {
+                    throw new IllegalArgumentException("Cannot schedule the screening of " + screening + " since seat "
+                            + (seats.getHighestClaimed() + 1) + " is sold and the showroom only has " + aCapacity + ".");
+                }
+                screenings = screenings.with(screening);
+                addedIndexes[addedCount++] = screenings.indexOf(screening);
+            }
+
+            for (Screening screening : removed) {
+                detach(screening);
+            }
+            for (Screening screening : pAdded) {
+                attach(screening);
+            }
+            // other threads only ever see the screenings before or after the whole change
+            aScreenings = screenings;
+            beginChange();
+            for (int i = 0; i < removed.size(); i++) {
+                nextRemove(removedIndexes[i], removed.get(i));
+            }
+            for (int i = 0; i < addedCount; i++) {
+                nextAdd(addedIndexes[i], addedIndexes[i] + 1);
+            }
+            endChange();
+        }
+
+        @Override
+        public Screening get(int pIndex) {
+            return aScreenings.get(pIndex);
+        }
+
+        @Override
+        public int size() {
+            return aScreenings.size();
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.example.theaterproject.Models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Scheduling rules of the screenings of a showroom.
+ *
+ * <p>
+ * Each screening occupies the interval going from its start time to its start time
+ * plus the runtime of its movie, and a showroom never holds two screenings whose
+ * intervals overlap, or even touch. The screenings of a showroom are held in a
+ * {@link ScreeningTree}, which answers the time queries of the showroom.
+ * </p>
+ */
+public final class ShowroomSchedule {
+
+    private ShowroomSchedule() { }
+
+    /**
+     * Validates that no two of the given screenings overlap.
+     *
+     * <p>
+     * The screenings are sorted by start time once, after which each screening only has to
+     * start after the latest end among the screenings before it, so validating n screenings
+     * costs O(n log n).
+     * </p>
+     *
+     * @param pScreenings the screenings to validate
+     * @throws IllegalArgumentException if two screenings overlap
+     */
+    public static void validate(List<Screening> pScreenings) {
+        List<Screening> sorted = new ArrayList<>(pScreenings);
+        sorted.sort(Comparator.comparing(Screening::getDateTime));
+        Screening latest = null;
+        LocalDateTime latestEnd = null;
+        for (Screening screening : sorted) {
+            if (latestEnd != null && !latestEnd.isBefore(screening.getDateTime())) {
+                throw new IllegalArgumentException(conflictMessage(screening, latest));
+            }
+            LocalDateTime end = endOf(screening);
+            if (latestEnd == null || end.isAfter(latestEnd)) {
+                latest = screening;
+                latestEnd = end;
+            }
+        }
+    }
+
+    /**
+     * Computes the time at which a screening ends.
+     *
+     * @param pScreening the screening
+     * @return the start time of the screening plus the runtime of its movie
+     */
+    public static LocalDateTime endOf(Screening pScreening) {
+        return pScreening.getDateTime().plusMinutes(pScreening.getMovie().getRuntime());
+    }
+
+    /**
+     * Builds the message describing a conflict between two screenings.
+     *
+     * @param pScreening the screening being scheduled
+     * @param pConflict  the screening it overlaps
+     * @return a user-readable description of the conflict
+     */
+    public static String conflictMessage(Screening pScreening, Screening pConflict) {
+        return "Cannot schedule screening from " + pScreening.getDateTime() + " to " + endOf(pScreening) + ". " +
+                "Another screening is already scheduled from " + pConflict.getDateTime() + " to " + endOf(pConflict) + ".";
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.theaterproject.Models;
 
+import com.example.theaterproject.Helpers.MoneyHelper;
+
 /**
  * Represents a ticket for a movie screening in the theater project system.
  *
@@ -16,26 +18,46 @@ public class Ticket {
     private Screening aScreening;
 
     /**
-     * The price paid for this ticket.
+     * The price paid for this ticket, in cents.
      */
-    private double aPrice;
+    private long aPriceInCents;
 
     /**
      * The client who purchased this ticket.
      */
     private Client aClient;
 
+    /**
+     * The seat assigned to this ticket, or -1 if no seat is assigned.
+     */
+    private int aSeat;
+
     /**
      * Creates a new {@code Ticket} with the specified details.
      *
      * @param pMovie the movie for this ticket; must not be {@code null}
      * @param pScreening the screening for this ticket; must not be {@code null}
-     * @param pPrice the price of the ticket; must be zero or positive
+     * @param pPriceInCents the price of the ticket in cents; must be zero or positive
+     * @param pClient the client purchasing the ticket; must not be {@code null}
+     *
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public Ticket(Movie pMovie, Screening pScreening, long pPriceInCents, Client pClient) {
+        this(pMovie, pScreening, pPriceInCents, pClient, -1);
+    }
+
+    /**
+     * Creates a new {@code Ticket} for a specific seat.
+     *
+     * @param pMovie the movie for this ticket; must not be {@code null}
+     * @param pScreening the screening for this ticket; must not be {@code null}
+     * @param pPriceInCents the price of the ticket in cents; must be zero or positive
      * @param pClient the client purchasing the ticket; must not be {@code null}
+     * @param pSeat the seat assigned to the ticket, or -1 if no seat is assigned
      *
      * @throws IllegalArgumentException if any parameter is invalid
      */
-    public Ticket(Movie pMovie, Screening pScreening, double pPrice, Client pClient) {
+    public Ticket(Movie pMovie, Screening pScreening, long pPriceInCents, Client pClient, int pSeat) {
 
         if (pMovie == null) {
             throw new IllegalArgumentException("Movie cannot be null");
@@ -43,16 +65,20 @@ public class Ticket {
         if (pScreening == null) {
             throw new IllegalArgumentException("Screening cannot be null");
         }
-        if (pPrice < 0) {
+        if (pPriceInCents < 0) {
             throw new IllegalArgumentException("Price cannot be below zero");
         }
         if (pClient == null) {
             throw new IllegalArgumentException("Client cannot be null");
         }
+        if (pSeat < -1) {
+            throw new IllegalArgumentException("Seat cannot be negative");
+        }
 
         this.aScreening = pScreening;
-        this.aPrice = pPrice;
+        this.aPriceInCents = pPriceInCents;
         this.aClient = pClient;
+        this.aSeat = pSeat;
     }
 
     /**
@@ -67,10 +93,10 @@ public class Ticket {
     /**
      * Returns the price of this ticket.
      *
-     * @return the ticket price as a double
+     * @return the ticket price in cents
      */
-    public double getPrice() {
-        return aPrice;
+    public long getPriceInCents() {
+        return aPriceInCents;
     }
 
     /**
@@ -82,6 +108,15 @@ public class Ticket {
         return aClient;
     }
 
+    /**
+     * Returns the seat assigned to this ticket.
+     *
+     * @return the seat number, or -1 if no seat is assigned
+     */
+    public int getSeat() {
+        return aSeat;
+    }
+
     /**
      * Returns a string representation of this ticket, including movie,
      * screening, price, and client.
@@ -92,7 +127,8 @@ public class Ticket {
     public String toString() {
         return "Ticket{" +
                 ", screening=" + aScreening +
-                ", price=" + aPrice +
+                ", seat=" + aSeat +
+                ", price=" + MoneyHelper.format(aPriceInCents) +
                 ", client=" + aClient +
                 '}';
     }
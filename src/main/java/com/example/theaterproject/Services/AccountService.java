@@ -4,10 +4,12 @@ import com.example.theaterproject.Models.Account;
 import com.example.theaterproject.Models.Client;
 import com.example.theaterproject.Models.Manager;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service class for managing user accounts in the theater system.
@@ -17,30 +19,60 @@ import java.util.List;
  * It provides methods for adding clients, retrieving clients, and authenticating users.
  * The service initializes with a default manager account.
  * </p>
+ *
+ * <p>
+ * Clients are also indexed by username in a hash map kept in sync with the
+ * observable client list, so logins and duplicate checks run in constant time.
+ * The client list is confined to the JavaFX application thread, while the index is
+ * a concurrent map, so logins and client lookups may run on any thread without locking.
+ * </p>
  */
 public class AccountService {
 
-    // Singleton instance
-    private static AccountService aInstance;
+    // Singleton instance, created on first use
+    private static final class Holder {
+        private static final AccountService aInstance = new AccountService();
+    }
 
     private final ObservableList<Client> aClientList = FXCollections.observableArrayList();
     private final Manager aManager; // only one manager
 
+    /**
+     * Client accounts keyed by username, mirroring {@link #aClientList}.
+     */
+    private final Map<String, Client> aClientsByUsername = new ConcurrentHashMap<>();
+
+    /**
+     * Client accounts keyed by ID, mirroring {@link #aClientList}.
+     */
+    private final Map<Integer, Client> aClientsById = new ConcurrentHashMap<>();
+
     private AccountService() {
         // initialize manager account
         this.aManager = new Manager("Manager","Password");
+
+        // keep the indexes in sync with every change made to the client list
+        aClientList.addListener((ListChangeListener<Client>) change -> {
+            while (change.next()) {
+                for (Client client : change.getRemoved()) {
+                    aClientsByUsername.remove(client.getUserName(), client);
+                    aClientsById.remove(client.getId(), client);
+                }
+                for (Client client : change.getAddedSubList()) {
+                    aClientsByUsername.put(client.getUserName(), client);
+                    aClientsById.put(client.getId(), client);
+                }
+            }
+        });
     }
 
     /**
-     * Returns the singleton instance of AccountService, creating it if necessary.
+     * Returns the singleton instance of AccountService, creating it on first use.
      *
      * @return the singleton AccountService instance
      */
     public static AccountService getInstance() {
-        if (aInstance == null) {
-            aInstance = new AccountService();
-        }
-        return aInstance;
+        return Holder.aInstance;
     }
 
     /**
@@ -51,14 +83,15 @@ public class AccountService {
      * </p>
      *
      * @param pClient the client to add; cannot be null
-     * @throws IllegalArgumentException if a user with the same username already exists
+     * @throws IllegalArgumentException if a user with the same username or ID already exists
      */
     public void addClient(Client pClient) {
         // check for duplicate before adding new client account
-        for (Account account : aClientList) {
-            if (account.getUserName().equals(pClient.getUserName())) {
-                throw new IllegalArgumentException("User already exists");
-            }
+        if (aClientsByUsername.containsKey(pClient.getUserName())) {
+            throw new IllegalArgumentException("User already exists");
+        }
+        if (aClientsById.containsKey(pClient.getId())) {
+            throw new IllegalArgumentException("Client ID " + pClient.getId() + " is already in use");
         }
         aClientList.add(pClient);
     }
@@ -101,12 +134,32 @@ public class AccountService {
         }
     }
 
+    /**
+     * Finds the client account with the given username.
+     *
+     * @param pUsername the username to look up
+     * @return the matching client, or null if there is none
+     */
+    public Client getClient(String pUsername) {
+        return pUsername == null ? null : aClientsByUsername.get(pUsername);
+    }
+
+    /**
+     * Finds the client account with the given ID.
+     *
+     * @param pId the ID to look up
+     * @return the matching client, or null if there is none
+     */
+    public Client getClient(int pId) {
+        return aClientsById.get(pId);
+    }
+
     /**
      * Authenticates a user based on username and password.
      *
      * <p>
-     * Checks first if the credentials match the manager account, then checks
-     * all client accounts. Returns the matching Account if found, or null if
+     * Checks first if the credentials match the manager account, then looks up
+     * the client account with the given username. Returns the matching Account if found, or null if
      * authentication fails.
      * </p>
      *
@@ -119,16 +172,14 @@ public class AccountService {
         // check if manager
         if (aManager != null &&
                 aManager.getUserName().equals(pUsername) &&
-                aManager.getPassword().equals(pPassword)) {
+                aManager.checkPassword(pPassword)) {
             return aManager;
         }
 
         // check which client
-        for (Client client : aClientList) {
-            if (client.getUserName().equals(pUsername) &&
-                client.getPassword().equals(pPassword)) {
-                return client;
-            }
+        Client client = getClient(pUsername);
+        if (client != null && client.checkPassword(pPassword)) {
+            return client;
         }
 
         return null; // login failed or user not found
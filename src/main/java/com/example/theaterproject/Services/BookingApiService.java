@@ -0,0 +1,375 @@
+package com.example.theaterproject.Services;
+
+import com.example.theaterproject.Helpers.MoneyHelper;
+import com.example.theaterproject.Models.Account;
+import com.example.theaterproject.Models.Client;
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.Ticket;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service exposing the catalog, the screenings and ticket purchases over HTTP, so web and
+ * kiosk clients can buy tickets without the JavaFX interface.
+ *
+ * <p>
+ * The server is the JDK's built-in {@link HttpServer}. Every request is handled on its
+ * own virtual thread, so slow clients only hold a cheap virtual thread while they send
+ * or receive data. Requests read the immutable snapshot published by {@link CommandService},
+ * so each request sees the movies, showrooms and screenings as of a single point in time,
+ * finds a screening by ID or by showroom and start time without scanning the others,
+ * and never touch the observable lists confined to the JavaFX application thread; purchases
+ * go through {@link TicketService}.
+ * </p>
+ *
+ * <p>
+ * Endpoints, all answering JSON:
+ * </p>
+ * <ul>
+ *     <li>{@code GET /api/movies}: the movie catalog;</li>
+ *     <li>{@code GET /api/screenings[?movieId=id|?movie=title]}: the screenings, optionally of a single movie;</li>
+ *     <li>{@code POST /api/purchases}: buys a ticket. The form-encoded body holds the client's
+ *     {@code username} and {@code password}, and the {@code screening} ID, or the {@code showroom}
+ *     index and {@code start} time of the screening. An optional {@code Idempotency-Key} header
+ *     makes retries safe. Bodies over 8 KiB are refused with 413.</li>
+ * </ul>
+ *
+ * <p>
+ * Movies, showrooms and screenings are listed with their ID, which stays the same when they
+ * are edited, so clients should refer to them by ID rather than by title or position.
+ * </p>
+ *
+ * <p>
+ * The server only runs when started, which {@code TheaterApplication} does when the
+ * {@value #aPortProperty} system property holds a port number. It only accepts connections
+ * from the same machine unless the {@value #aHostProperty} system property names another
+ * address to listen on, such as {@code 0.0.0.0} for every interface.
+ * </p>
+ */
+public class BookingApiService {
+
+    private static final class Holder {
+        private static final BookingApiService aInstance = new BookingApiService();
+    }
+
+    /**
+     * System property holding the port the API listens on.
+     */
+    public static final String aPortProperty = "theater.api.port";
+
+    /**
+     * System property holding the address the API listens on, the loopback address by default.
+     */
+    public static final String aHostProperty = "theater.api.host";
+
+    /**
+     * Largest request body accepted, in bytes. A purchase form is far smaller.
+     */
+    private static final int aMaxRequestBytes = 8 * 1024;
+
+    private final CommandService aCommandService = CommandService.getInstance();
+    private final AccountService aAccountService = AccountService.getInstance();
+    private final TicketService aTicketService = TicketService.getInstance();
+
+    private HttpServer aServer;
+    private ExecutorService aExecutor;
+
+    private BookingApiService() { }
+
+    /**
+     * Returns the singleton instance of BookingApiService, creating it on first use.
+     *
+     * @return the singleton BookingApiService instance
+     */
+    public static BookingApiService getInstance() {
+        return Holder.aInstance;
+    }
+
+    /**
+     * Starts the HTTP server on the address held by the {@value #aHostProperty} system property,
+     * or on the loopback address if it is not set. Does nothing if it is already running.
+     *
+     * @param pPort the port to listen on, or 0 to pick a free port
+     * @throws IOException if the address cannot be resolved or the server cannot listen on the port
+     */
+    public synchronized void start(int pPort) throws IOException {
+        if (aServer != null) {
+            return;
+        }
+        String host = System.getProperty(aHostProperty);
+        InetAddress address = host == null || host.isBlank() ? InetAddress.getLoopbackAddress() : InetAddress.getByName(host);
+        HttpServer server = HttpServer.create(new InetSocketAddress(address, pPort), 0);
+        aExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(aExecutor);
+        server.createContext("/api/movies", exchange -> handle(exchange, "GET", this::listMovies));
+        server.createContext("/api/screenings", exchange -> handle(exchange, "GET", this::listScreenings));
+        server.createContext("/api/purchases", exchange -> handle(exchange, "POST", this::purchase));
+        server.start();
+        aServer = server;
+    }
+
+    /**
+     * Stops the HTTP server, letting requests in progress finish. Does nothing if it is not running.
+     */
+    public synchronized void stop() {
+        if (aServer == null) {
+            return;
+        }
+        aServer.stop(1);
+        aExecutor.close();
+        aServer = null;
+        aExecutor = null;
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the port, or -1 if the server is not running
+     */
+    public synchronized int getPort() {
+        return aServer == null ? -1 : aServer.getAddress().getPort();
+    }
+
+    /**
+     * Answers {@code GET /api/movies}.
+     */
+    private Response listMovies(HttpExchange pExchange) {
+        StringBuilder json = new StringBuilder("[");
+        for (Movie movie : aCommandService.getSnapshot().movies()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(movie.getId());
+            json.append(",\"title\":");
+            appendString(json, movie.getTitle());
+            json.append(",\"runtime\":").append(movie.getRuntime()).append('}');
+        }
+        return new Response(200, json.append(']').toString());
+    }
+
+    /**
+     * Answers {@code GET /api/screenings}.
+     */
+    private Response listScreenings(HttpExchange pExchange) {
+        Map<String, String> query = parseForm(pExchange.getRequestURI().getRawQuery());
+        String title = query.get("movie");
+        int movieId;
+        try {
+            movieId = query.containsKey("movieId") ? Integer.parseInt(query.get("movieId")) : 0;
+        } catch (NumberFormatException e) {
+            return error(400, "The movie ID must be a number");
+        }
+        CommandService.Snapshot snapshot = aCommandService.getSnapshot();
+        List<CommandService.ShowroomInfo> showrooms = snapshot.showrooms();
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < showrooms.size(); i++) {
+            for (Screening screening : snapshot.screeningsOf(i)) {
+                if (movieId != 0 && movieId != screening.getMovie().getId()
+                        || title != null && !title.equals(screening.getMovie().getTitle())) {
+                    continue;
+                }
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append("{\"id\":").append(screening.getId());
+                json.append(",\"showroom\":").append(i);
+                json.append(",\"showroomId\":").append(showrooms.get(i).id());
+                json.append(",\"showroomName\":");
+                appendString(json, showrooms.get(i).name());
+                json.append(",\"movieId\":").append(screening.getMovie().getId());
+                json.append(",\"movie\":");
+                appendString(json, screening.getMovie().getTitle());
+                json.append(",\"start\":");
+                appendString(json, screening.getDateTime().toString());
+                json.append(",\"price\":").append(MoneyHelper.toDecimalString(screening.getPricePerTicketInCents()));
+                json.append(",\"available\":").append(screening.getTicketCount()).append('}');
+            }
+        }
+        return new Response(200, json.append(']').toString());
+    }
+
+    /**
+     * Answers {@code POST /api/purchases}.
+     */
+    private Response purchase(HttpExchange pExchange) throws IOException {
+        Map<String, String> form;
+        try (InputStream body = pExchange.getRequestBody()) {
+            // reads one byte past the limit to tell a body at the limit from a longer one
+            byte[] bytes = body.readNBytes(aMaxRequestBytes + 1);
+            if (bytes.length > aMaxRequestBytes) {
+                return error(413, "The request body cannot exceed " + aMaxRequestBytes + " bytes");
+            }
+            form = parseForm(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        Account account = aAccountService.login(form.get("username"), form.get("password"));
+        if (!(account instanceof Client client)) {
+            return error(401, "Invalid username or password");
+        }
+
+        Screening screening;
+        try {
+            screening = form.containsKey("screening")
+                    ? findScreening(Integer.parseInt(form.get("screening")))
+                    : findScreening(Integer.parseInt(form.getOrDefault("showroom", "")),
+                            LocalDateTime.parse(form.getOrDefault("start", "")));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return error(400, "A screening ID, or a showroom index and a start time, are required");
+        }
+        if (screening == null) {
+            return error(404, "No such screening");
+        }
+
+        try {
+            Ticket ticket = aTicketService.purchase(client, screening,
+                    pExchange.getRequestHeaders().getFirst("Idempotency-Key"));
+            StringBuilder json = new StringBuilder("{\"screening\":").append(ticket.getScreening().getId());
+            json.append(",\"movie\":");
+            appendString(json, ticket.getScreening().getMovie().getTitle());
+            json.append(",\"start\":");
+            appendString(json, ticket.getScreening().getDateTime().toString());
+            json.append(",\"seat\":").append(ticket.getSeat());
+            json.append(",\"price\":").append(MoneyHelper.toDecimalString(ticket.getPriceInCents()));
+            json.append(",\"username\":");
+            appendString(json, client.getUserName());
+            return new Response(201, json.append('}').toString());
+        } catch (IllegalStateException e) {
+            return error(409, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return error(400, e.getMessage());
+        }
+    }
+
+    /**
+     * Finds a screening by ID.
+     *
+     * @return the screening, or null if there is none
+     */
+    private Screening findScreening(int pId) {
+        return aCommandService.getSnapshot().screening(pId);
+    }
+
+    /**
+     * Finds the screening starting at a given time in a showroom.
+     *
+     * @return the screening, or null if there is none
+     */
+    private Screening findScreening(int pShowroomIndex, LocalDateTime pStart) {
+        CommandService.Snapshot snapshot = aCommandService.getSnapshot();
+        if (pShowroomIndex < 0 || pShowroomIndex >= snapshot.showrooms().size()) {
+            return null;
+        }
+        return snapshot.screeningsOf(pShowroomIndex).getScreeningAt(pStart);
+    }
+
+    /**
+     * Runs an endpoint and sends its response, answering 405 to other methods and 500 to unexpected failures.
+     */
+    private void handle(HttpExchange pExchange, String pMethod, Endpoint pEndpoint) throws IOException {
+        try (pExchange) {
+            Response response;
+            if (!pMethod.equals(pExchange.getRequestMethod())) {
+                pExchange.getResponseHeaders().set("Allow", pMethod);
+                response = error(405, "Method not allowed");
+            } else {
+                try {
+                    response = pEndpoint.answer(pExchange);
+                } catch (RuntimeException e) {
+                    response = error(500, "Internal error");
+                }
+            }
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            pExchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            pExchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = pExchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static Response error(int pStatus, String pMessage) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, pMessage);
+        return new Response(pStatus, json.append('}').toString());
+    }
+
+    /**
+     * Parses form-encoded parameters, such as a query string or a form body.
+     */
+    private static Map<String, String> parseForm(String pEncoded) {
+        Map<String, String> parameters = new HashMap<>();
+        if (pEncoded == null || pEncoded.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : pEncoded.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Appends a string as a quoted JSON string.
+     */
+    private static void appendString(StringBuilder pJson, String pValue) {
+        if (pValue == null) {
+            pJson.append("null");
+            return;
+        }
+        pJson.append('"');
+        for (int i = 0; i < pValue.length(); i++) {
+            char c = pValue.charAt(i);
+            switch (c) {
+                case '"' -> pJson.append("\\\"");
+                case '\\' -> pJson.append("\\\\");
+                case '\n' -> pJson.append("\\n");
+                case '\r' -> pJson.append("\\r");
+                case '\t' -> pJson.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        pJson.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        pJson.append(c);
+                    }
+                }
+            }
+        }
+        pJson.append('"');
+    }
+
+    /**
+     * An endpoint computing the response to a request.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+        Response answer(HttpExchange pExchange) throws IOException;
+    }
+
+    /**
+     * A response status along with its JSON body.
+     *
+     * @param status the HTTP status code
+     * @param body   the JSON body
+     */
+    private record Response(int status, String body) {
+    }
+}
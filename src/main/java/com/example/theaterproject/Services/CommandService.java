@@ -0,0 +1,252 @@
+package com.example.theaterproject.Services;
+
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.ScreeningTree;
+import com.example.theaterproject.Models.Showroom;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service applying every change to the movies, showrooms and screenings on a single writer
+ * thread, and publishing an immutable snapshot of them after each batch of changes.
+ *
+ * <p>
+ * The writer is the JavaFX application thread, to which the observable lists of the services
+ * are confined, and commands run there with {@link #execute(Runnable)}. Writes are therefore
+ * serialized without locks. Ticket purchases are not commands: they only claim seats, which
+ * {@link TicketService} does on any thread with compare-and-set operations. The booking API
+ * only reads snapshots and sells tickets, so it never has to hand a command over to the writer.
+ * </p>
+ *
+ * <p>
+ * After each command, {@link #getSnapshot()} publishes a {@link Snapshot} of the movies, the
+ * showrooms and the screenings of each showroom, taken at the same point in time. Readers on
+ * any thread, such as the booking API or reports, thus get a consistent view without locking.
+ * The snapshot reuses the immutable versions the services and showrooms already keep, so
+ * publishing it only builds the list of screenings, one reference per showroom, and the
+ * screenings of a showroom left unchanged are shared between successive snapshots. Since the
+ * name and capacity of a showroom are edited in place, the snapshot holds a copy of them,
+ * a {@link ShowroomInfo} per showroom, rather than the showrooms themselves. The movie
+ * catalog is copied by its service whenever it changes, and the showroom details on every
+ * snapshot, each costing one pass over a list that is short. Changes made directly through
+ * the services, outside of a command, publish a new snapshot as well.
+ * </p>
+ */
+public class CommandService {
+
+    private static final class Holder {
+        private static final CommandService aInstance = new CommandService();
+    }
+
+    private volatile Snapshot aSnapshot = new Snapshot(0, List.of(), List.of(), List.of());
+
+    /**
+     * Number of commands running on the writer thread, counting nested ones.
+     */
+    private int aDepth;
+
+    /**
+     * Whether the state changed since the snapshot was published, while commands were running.
+     */
+    private boolean aChanged;
+
+    private CommandService() { }
+
+    /**
+     * Returns the singleton instance of CommandService, creating it on first use.
+     *
+     * @return the singleton CommandService instance
+     */
+    public static CommandService getInstance() {
+        return Holder.aInstance;
+    }
+
+    /**
+     * Retrieves the latest snapshot of the movies, showrooms and screenings. May be called on any thread.
+     *
+     * @return the snapshot published after the last change
+     */
+    public Snapshot getSnapshot() {
+        return aSnapshot;
+    }
+
+    /**
+     * Runs a command right away on the writer thread, then publishes a new snapshot if the
+     * command changed anything. Exceptions thrown by the command, such as validation errors,
+     * reach the caller.
+     *
+     * @param pCommand the command
+     * @throws IllegalStateException if not called on the JavaFX application thread, or if the
+     *                               journal can no longer be written
+     */
+    public void execute(Runnable pCommand) {
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("Commands must be executed on the JavaFX application thread");
+        }
+        JournalService.getInstance().checkWritable();
+        run(pCommand);
+    }
+
+    /**
+     * Records that the movies, showrooms or screenings changed; called by the services from
+     * their list listeners. Publishes a new snapshot now, or at the end of the running command.
+     */
+    void stateChanged() {
+        if (aDepth > 0) {
+            aChanged = true;
+        } else {
+            publish();
+        }
+    }
+
+    /**
+     * Runs a command, publishing a new snapshot once the outermost command is over if the state changed.
+     */
+    private void run(Runnable pCommand) {
+        aDepth++;
+        try {
+            pCommand.run();
+        } finally {
+            if (--aDepth == 0 && aChanged) {
+                publish();
+            }
+        }
+    }
+
+    /**
+     * Publishes a snapshot of the current state.
+     */
+    private void publish() {
+        aChanged = false;
+        List<Showroom> showrooms = ShowroomService.getInstance().getShowroomsSnapshot();
+        List<ShowroomInfo> details = new ArrayList<>(showrooms.size());
+        List<ScreeningTree> screenings = new ArrayList<>(showrooms.size());
+        for (Showroom showroom : showrooms) {
+            details.add(new ShowroomInfo(showroom.getId(), showroom.getShowroomName(), showroom.getShowroomCapacity()));
+            screenings.add(showroom.getScreeningsSnapshot());
+        }
+        aSnapshot = new Snapshot(aSnapshot.version() + 1, MovieService.getInstance().getMoviesSnapshot(),
+                List.copyOf(details), List.copyOf(screenings));
+    }
+
+    /**
+     * The movies, showrooms and screenings at one point in time. Every list is immutable.
+     *
+     * <p>
+     * Screenings are also found by ID through an index built the first time one is looked up
+     * in the snapshot, so publishing a snapshot still copies no screening, while every later
+     * lookup in the same snapshot costs O(1).
+     * </p>
+     */
+    public static final class Snapshot {
+
+        private final long aVersion;
+        private final List<Movie> aMovies;
+        private final List<ShowroomInfo> aShowrooms;
+        private final List<ScreeningTree> aScreenings;
+
+        /**
+         * Screenings of every showroom by ID, built on first use.
+         */
+        private volatile Map<Integer, Screening> aScreeningsById;
+
+        /**
+         * Creates a snapshot.
+         *
+         * @param pVersion    the number of the snapshot, increasing with each snapshot published
+         * @param pMovies     the movie catalog
+         * @param pShowrooms  the details of the showrooms
+         * @param pScreenings the screenings of each showroom, at the position of the showroom
+         */
+        private Snapshot(long pVersion, List<Movie> pMovies, List<ShowroomInfo> pShowrooms, List<ScreeningTree> pScreenings) {
+            this.aVersion = pVersion;
+            this.aMovies = pMovies;
+            this.aShowrooms = pShowrooms;
+            this.aScreenings = pScreenings;
+        }
+
+        /**
+         * Retrieves the number of the snapshot, increasing with each snapshot published.
+         *
+         * @return the version of the snapshot
+         */
+        public long version() {
+            return aVersion;
+        }
+
+        /**
+         * Retrieves the movie catalog.
+         *
+         * @return the movies
+         */
+        public List<Movie> movies() {
+            return aMovies;
+        }
+
+        /**
+         * Retrieves the details of the showrooms, as of this snapshot.
+         *
+         * @return the showrooms
+         */
+        public List<ShowroomInfo> showrooms() {
+            return aShowrooms;
+        }
+
+        /**
+         * Retrieves the screenings of each showroom, at the position of the showroom.
+         *
+         * @return the screenings of every showroom
+         */
+        public List<ScreeningTree> screenings() {
+            return aScreenings;
+        }
+
+        /**
+         * Retrieves the screenings of the showroom at a position.
+         *
+         * @param pShowroomIndex the position of the showroom
+         * @return the screenings of the showroom
+         */
+        public ScreeningTree screeningsOf(int pShowroomIndex) {
+            return aScreenings.get(pShowroomIndex);
+        }
+
+        /**
+         * Finds a screening of one of the showrooms by its ID.
+         *
+         * @param pId the ID of the screening
+         * @return the screening, or {@code null} if no showroom holds a screening with that ID
+         */
+        public Screening screening(int pId) {
+            Map<Integer, Screening> screeningsById = aScreeningsById;
+            if (screeningsById == null) {
+                // threads racing to build the index build the same one
+                Map<Integer, Screening> index = new HashMap<>();
+                for (ScreeningTree screenings : aScreenings) {
+                    for (Screening screening : screenings) {
+                        index.put(screening.getId(), screening);
+                    }
+                }
+                screeningsById = Collections.unmodifiableMap(index);
+                aScreeningsById = screeningsById;
+            }
+            return screeningsById.get(pId);
+        }
+    }
+
+    /**
+     * The details of a showroom as of a snapshot.
+     *
+     * @param id       the ID of the showroom
+     * @param name     the name of the showroom
+     * @param capacity the seating capacity of the showroom
+     */
+    public record ShowroomInfo(int id, String name, int capacity) {
+    }
+}
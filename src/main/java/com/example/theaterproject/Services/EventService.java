@@ -0,0 +1,209 @@
+package com.example.theaterproject.Services;
+
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.Showroom;
+import javafx.application.Platform;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Service carrying domain events from the services to the views, such as movies being
+ * changed or tickets being sold.
+ *
+ * <p>
+ * Events may be published from any thread. They are not delivered right away: events
+ * published in a burst are merged, so a screening that sold a thousand tickets yields a
+ * single {@link TicketsSold} event, and delivered together on the JavaFX application thread
+ * through a single {@link Platform#runLater(Runnable)}. However many bookings come in
+ * meanwhile, a view refreshes at most once per delivery, so background activity never
+ * floods the JavaFX application thread.
+ * </p>
+ *
+ * <p>
+ * Listeners are held weakly, like the weak listeners of JavaFX, so a listener must be
+ * referenced by its view for as long as the view wants events; a discarded view can then
+ * be collected without unsubscribing. Listeners are added and notified on the JavaFX
+ * application thread.
+ * </p>
+ */
+public class EventService {
+
+    private static final class Holder {
+        private static final EventService aInstance = new EventService();
+    }
+
+    /**
+     * Events published since the last delivery, by the key they are merged on, in the order
+     * they were first published. Guarded by its own monitor.
+     */
+    private final Map<Object, Event> aPending = new LinkedHashMap<>();
+
+    /**
+     * Whether a delivery is already queued on the JavaFX application thread.
+     */
+    private final AtomicBoolean aDeliveryScheduled = new AtomicBoolean();
+
+    private final List<WeakReference<Consumer<List<Event>>>> aListeners = new ArrayList<>();
+
+    private EventService() { }
+
+    /**
+     * Returns the singleton instance of EventService, creating it on first use.
+     *
+     * @return the singleton EventService instance
+     */
+    public static EventService getInstance() {
+        return Holder.aInstance;
+    }
+
+    /**
+     * Adds a listener notified of the events of each delivery, in the order they were
+     * first published. The listener is held weakly.
+     *
+     * @param pListener the listener
+     */
+    public void addListener(Consumer<List<Event>> pListener) {
+        aListeners.add(new WeakReference<>(pListener));
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param pListener the listener
+     */
+    public void removeListener(Consumer<List<Event>> pListener) {
+        aListeners.removeIf(reference -> reference.get() == null || reference.get() == pListener);
+    }
+
+    /**
+     * Publishes an event, merging it with an equivalent event still waiting to be delivered.
+     * May be called on any thread.
+     *
+     * @param pEvent the event
+     */
+    public void publish(Event pEvent) {
+        synchronized (aPending) {
+            aPending.merge(pEvent.key(), pEvent, Event::merge);
+        }
+        if (!aDeliveryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Platform.runLater(this::deliver);
+        } catch (IllegalStateException e) {
+            // no JavaFX toolkit, hence no view to notify
+            aDeliveryScheduled.set(false);
+            synchronized (aPending) {
+                aPending.clear();
+            }
+        }
+    }
+
+    /**
+     * Delivers the pending events to the listeners right away. Must be called on the JavaFX
+     * application thread; a delivery already queued will find nothing left to deliver.
+     */
+    public void deliver() {
+        aDeliveryScheduled.set(false);
+        List<Event> events;
+        synchronized (aPending) {
+            if (aPending.isEmpty()) {
+                return;
+            }
+            events = List.copyOf(aPending.values());
+            aPending.clear();
+        }
+        // listeners may add or remove listeners while being notified
+        for (WeakReference<Consumer<List<Event>>> reference : List.copyOf(aListeners)) {
+            Consumer<List<Event>> listener = reference.get();
+            if (listener != null) {
+                listener.accept(events);
+            }
+        }
+        for (Iterator<WeakReference<Consumer<List<Event>>>> iterator = aListeners.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().get() == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * An event published by the services.
+     */
+    public sealed interface Event permits MoviesChanged, ShowroomsChanged, ShowroomUpdated, ScreeningsChanged, TicketsSold {
+
+        /**
+         * Returns the key on which events waiting to be delivered are merged.
+         *
+         * @return the key, by default the event itself
+         */
+        default Object key() {
+            return this;
+        }
+
+        /**
+         * Merges this event with a later event of the same key.
+         *
+         * @param pLater the later event
+         * @return the merged event, by default this one
+         */
+        default Event merge(Event pLater) {
+            return this;
+        }
+    }
+
+    /**
+     * Movies were added, removed or replaced in the catalog.
+     */
+    public record MoviesChanged() implements Event {
+    }
+
+    /**
+     * Showrooms were added, removed or replaced.
+     */
+    public record ShowroomsChanged() implements Event {
+    }
+
+    /**
+     * The name or capacity of a showroom changed.
+     *
+     * @param showroom the showroom
+     */
+    public record ShowroomUpdated(Showroom showroom) implements Event {
+    }
+
+    /**
+     * Screenings of a showroom were added, removed or rescheduled, which includes a
+     * screening replaced by its edited copy.
+     *
+     * @param showroom the showroom
+     */
+    public record ScreeningsChanged(Showroom showroom) implements Event {
+    }
+
+    /**
+     * Tickets were sold for a screening.
+     *
+     * @param screening the screening
+     * @param count     the number of tickets sold
+     */
+    public record TicketsSold(Screening screening, int count) implements Event {
+
+        @Override
+        public Object key() {
+            return screening;
+        }
+
+        @Override
+        public Event merge(Event pLater) {
+            return new TicketsSold(screening, count + ((TicketsSold) pLater).count());
+        }
+    }
+}
@@ -0,0 +1,940 @@
+package com.example.theaterproject.Services;
+
+import com.example.theaterproject.Helpers.MoneyHelper;
+import com.example.theaterproject.Models.Client;
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.SeatMap;
+import com.example.theaterproject.Models.Ticket;
+import com.example.theaterproject.Models.Showroom;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Service keeping an append-only journal of every change made to the theater data.
+ *
+ * <p>
+ * Once opened, the service listens to the movies, clients, showrooms and screenings
+ * held by {@link MovieService}, {@link AccountService} and {@link ShowroomService}
+ * and appends one record per change to a journal file, along with one record per
+ * ticket issued by {@link TicketService}. Records are handed to a
+ * background writer thread which writes every pending record at once and then forces
+ * them to disk (group commit), so the JavaFX thread never waits on the disk. If the
+ * journal cannot be written, the failure is logged and {@link #checkWritable()} refuses
+ * every later change, which commands and purchases check before changing anything.
+ * </p>
+ *
+ * <p>
+ * Every {@value #aCheckpointInterval} records, and when the journal is closed, the
+ * service takes a checkpoint: a binary snapshot of the services is encoded by
+ * {@link SnapshotService} and handed to the writer thread, which saves it and then
+ * empties the journal. On startup, {@link #restore()} loads the newest snapshot and
+ * replays the journal records written after it.
+ * </p>
+ *
+ * <p>
+ * Records are single lines of tab-separated fields starting with a sequence number.
+ * List changes are stored by position, the same way a {@link ListChangeListener.Change}
+ * describes them. Movies, showrooms, screenings and clients are written with their ID.
+ * Changes to a showroom and to its screenings refer to the showroom by ID, and tickets
+ * refer to their screening and client by ID.
+ * </p>
+ *
+ * <p>
+ * List changes are recorded on the thread owning the lists, the JavaFX application
+ * thread, while tickets may be recorded from any thread. Appending a record is
+ * synchronized, and a checkpoint falling due on another thread, or during a purchase, is
+ * handed over to the thread that opened the journal, since encoding a snapshot reads the
+ * lists and waits for the purchases in progress.
+ * </p>
+ */
+public class JournalService {
+
+    private static final class Holder {
+        private static final JournalService aInstance = new JournalService();
+    }
+
+    private static final System.Logger aLogger = System.getLogger(JournalService.class.getName());
+
+    /**
+     * Name of the journal file inside the data directory.
+     */
+    private static final String aJournalFileName = "journal.log";
+
+    /**
+     * Name of the snapshot file inside the data directory.
+     */
+    private static final String aSnapshotFileName = "snapshot.bin";
+
+    /**
+     * Number of records after which a checkpoint is taken.
+     */
+    private static final int aCheckpointInterval = 10_000;
+
+    /**
+     * Marker queued by {@link #close()} to stop the writer thread.
+     */
+    private static final Object aStopMarker = new Object();
+
+    private final MovieService aMovieService = MovieService.getInstance();
+    private final ShowroomService aShowroomService = ShowroomService.getInstance();
+    private final AccountService aAccountService = AccountService.getInstance();
+
+    /**
+     * Records and checkpoints waiting to be written by the writer thread.
+     */
+    private final BlockingQueue<Object> aPending = new LinkedBlockingQueue<>();
+
+    private Path aJournalPath;
+    private Path aSnapshotPath;
+    private FileChannel aChannel;
+    private Thread aWriter;
+
+    /**
+     * The error that kept the writer thread from writing records, after which no change is
+     * accepted, or null if every record was written.
+     */
+    private volatile IOException aFailure;
+
+    /**
+     * Whether records are currently being replayed, in which case changes are not journaled again.
+     */
+    private boolean aReplaying = false;
+
+    /**
+     * Sequence number of the last record appended to the journal.
+     */
+    private long aSequence = 0;
+
+    /**
+     * Number of records appended since the last checkpoint.
+     */
+    private int aRecordsSinceCheckpoint = 0;
+
+    /**
+     * Thread that opened the journal, which owns the journaled lists: the JavaFX application
+     * thread once the application runs. Snapshots are only encoded on this thread.
+     */
+    private Thread aOwnerThread;
+
+    /**
+     * Whether a checkpoint fell due on another thread than the owner and has not been taken yet.
+     */
+    private boolean aCheckpointScheduled = false;
+
+    private final ListChangeListener<Movie> aMovieListener = change -> {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                recordListReplaced("MOVIES", change.getList(), this::appendMovie);
+                continue;
+            }
+            if (change.wasRemoved()) {
+                append(record("MOVIES_REMOVE", change.getFrom(), change.getRemovedSize()));
+            }
+            if (change.wasAdded()) {
+                append(listRecord("MOVIES_ADD", change.getFrom(), change.getAddedSubList(), this::appendMovie));
+            }
+        }
+    };
+
+    private final ListChangeListener<Client> aClientListener = change -> {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                recordListReplaced("CLIENTS", change.getList(), this::appendClient);
+                continue;
+            }
+            if (change.wasRemoved()) {
+                append(record("CLIENTS_REMOVE", change.getFrom(), change.getRemovedSize()));
+            }
+            if (change.wasAdded()) {
+                append(listRecord("CLIENTS_ADD", change.getFrom(), change.getAddedSubList(), this::appendClient));
+            }
+        }
+    };
+
+    /**
+     * Listener journaling the changes to the screenings of each showroom, by showroom.
+     */
+    private final Map<Showroom, ListChangeListener<Screening>> aScreeningListeners = new HashMap<>();
+
+    private final ListChangeListener<Showroom> aShowroomListener = change -> {
+        while (change.next()) {
+            for (Showroom showroom : change.getRemoved()) {
+                stopRecordingScreenings(showroom);
+            }
+            for (Showroom showroom : change.getAddedSubList()) {
+                startRecordingScreenings(showroom);
+            }
+            if (change.wasPermutated()) {
+                recordListReplaced("SHOWROOMS", change.getList(), this::appendShowroom);
+                continue;
+            }
+            if (change.wasRemoved()) {
+                append(record("SHOWROOMS_REMOVE", change.getFrom(), change.getRemovedSize()));
+            }
+            if (change.wasAdded()) {
+                append(listRecord("SHOWROOMS_ADD", change.getFrom(), change.getAddedSubList(), this::appendShowroom));
+            }
+        }
+    };
+
+    private JournalService() { }
+
+    /**
+     * Returns the singleton instance of JournalService, creating it on first use.
+     *
+     * @return the singleton JournalService instance
+     */
+    public static JournalService getInstance() {
+        return Holder.aInstance;
+    }
+
+    /**
+     * Returns the directory holding the application data.
+     *
+     * <p>
+     * The directory can be chosen with the {@code theater.data.dir} system property and
+     * defaults to {@code .theaterproject} in the user's home directory.
+     * </p>
+     *
+     * @return the data directory
+     */
+    public static Path getDefaultDirectory() {
+        return Path.of(System.getProperty("theater.data.dir",
+                Path.of(System.getProperty("user.home"), ".theaterproject").toString()));
+    }
+
+    /**
+     * Opens the journal in the given directory and starts recording changes.
+     *
+     * <p>
+     * Until this method is called, changes made to the services are not journaled.
+     * </p>
+     *
+     * @param pDirectory the directory holding the journal file
+     * @throws IOException if the journal file cannot be opened
+     */
+    public void open(Path pDirectory) throws IOException {
+        if (aChannel != null) {
+            return;
+        }
+        Files.createDirectories(pDirectory);
+        aJournalPath = pDirectory.resolve(aJournalFileName);
+        aSnapshotPath = pDirectory.resolve(aSnapshotFileName);
+        aChannel = FileChannel.open(aJournalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        aOwnerThread = Thread.currentThread();
+
+        aMovieService.getMovies().addListener(aMovieListener);
+        aAccountService.getClients().addListener(aClientListener);
+        aShowroomService.getShowrooms().addListener(aShowroomListener);
+        for (Showroom showroom : aShowroomService.getShowrooms()) {
+            startRecordingScreenings(showroom);
+        }
+
+        aWriter = new Thread(this::runWriter, "journal-writer");
+        aWriter.setDaemon(true);
+        aWriter.start();
+    }
+
+    /**
+     * Takes a checkpoint, stops recording changes, writes every pending record and closes the journal.
+     */
+    public void close() {
+        if (aChannel == null) {
+            return;
+        }
+        checkpoint();
+        aMovieService.getMovies().removeListener(aMovieListener);
+        aAccountService.getClients().removeListener(aClientListener);
+        aShowroomService.getShowrooms().removeListener(aShowroomListener);
+        for (Showroom showroom : aShowroomService.getShowrooms()) {
+            stopRecordingScreenings(showroom);
+        }
+
+        aPending.add(aStopMarker);
+        try {
+            aWriter.join();
+            aChannel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            aLogger.log(System.Logger.Level.ERROR, "Failed to close the journal", e);
+        }
+        aChannel = null;
+        aWriter = null;
+    }
+
+    /**
+     * Restores the services from the newest snapshot followed by the journal records written after it.
+     *
+     * <p>
+     * Records already included in the snapshot are skipped, which covers a crash between
+     * saving a snapshot and emptying the journal. Replay stops at the first record that
+     * cannot be read, such as a record left incomplete by a crash while it was being written.
+     * The journal is then truncated after the last record read, so the records appended from
+     * now on follow it and are replayed on the next restore.
+     * </p>
+     *
+     * @return {@code true} if a snapshot or at least one record was restored,
+     *         {@code false} if there was nothing to restore
+     * @throws IOException if the snapshot or the journal cannot be read
+     * @throws IllegalStateException if the journal has not been opened
+     */
+    public boolean restore() throws IOException {
+        if (aJournalPath == null) {
+            throw new IllegalStateException("Journal is not open");
+        }
+        int replayed = 0;
+        Map<Integer, Movie> movies = new HashMap<>();
+        aReplaying = true;
+        try {
+            long snapshotSequence = SnapshotService.getInstance().load(aSnapshotPath);
+            aSequence = Math.max(aSequence, snapshotSequence);
+
+            byte[] journal = Files.readAllBytes(aJournalPath);
+            // end of the last record read, each record ending with a line break
+            int position = 0;
+            while (position < journal.length) {
+                int end = position;
+                while (end < journal.length && journal[end] != '\n') {
+                    end++;
+                }
+                if (end == journal.length) {
+                    aLogger.log(System.Logger.Level.WARNING, "Journal replay stopped at an incomplete record");
+                    break;
+                }
+                if (end > position) {
+                    try {
+                        RecordReader record = new RecordReader(new String(journal, position, end - position, StandardCharsets.UTF_8));
+                        long sequence = record.nextLong();
+                        if (sequence > snapshotSequence) {
+                            apply(record, movies);
+                            aSequence = sequence;
+                            replayed++;
+                        }
+                    } catch (RuntimeException e) {
+                        aLogger.log(System.Logger.Level.WARNING, "Journal replay stopped at an unreadable record: " + e.getMessage());
+                        break;
+                    }
+                }
+                position = end + 1;
+            }
+            if (position < journal.length) {
+                aChannel.truncate(position);
+                aChannel.force(true);
+                aLogger.log(System.Logger.Level.WARNING, "Dropped the last " + (journal.length - position)
+                        + " bytes of the journal, which could not be replayed");
+            }
+            return snapshotSequence >= 0 || replayed > 0;
+        } finally {
+            aReplaying = false;
+        }
+    }
+
+    /**
+     * Checks that changes can still be journaled. Called before a change is made, so that a
+     * change is refused rather than made and lost once the journal can no longer be written.
+     *
+     * @throws IllegalStateException if the journal could not be written
+     */
+    public void checkWritable() {
+        IOException failure = aFailure;
+        if (failure != null) {
+            throw new IllegalStateException("Changes cannot be saved: the journal could not be written", failure);
+        }
+    }
+
+    /**
+     * Takes a checkpoint: encodes a snapshot of the services and queues it for the writer
+     * thread, which saves it and then empties the journal.
+     *
+     * <p>
+     * Only encoding happens on the calling thread; nothing waits on the disk. Must be
+     * called on the thread that opened the journal, since it reads the journaled lists.
+     * </p>
+     *
+     * <p>
+     * A purchase holds the read lock of its showroom from taking a ticket until the ticket
+     * is journaled, so the write lock of every showroom is held while encoding: a snapshot
+     * holds a ticket along with its seat and ticket count, or none of them.
+     * </p>
+     */
+    public void checkpoint() {
+        if (aChannel == null) {
+            return;
+        }
+        List<Lock> locks = new ArrayList<>();
+        try {
+            for (Showroom showroom : aShowroomService.getShowrooms()) {
+                Lock lock = aShowroomService.getLock(showroom).writeLock();
+                lock.lock();
+                locks.add(lock);
+            }
+            synchronized (this) {
+                aPending.add(new Checkpoint(SnapshotService.getInstance().encode(aSequence)));
+                aRecordsSinceCheckpoint = 0;
+                aCheckpointScheduled = false;
+            }
+        } finally {
+            for (Lock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Records a change to the name or capacity of a showroom.
+     *
+     * <p>
+     * Changes to the screenings of the showroom are journaled separately as they happen.
+     * </p>
+     *
+     * @param pShowroom the updated showroom
+     */
+    public void recordShowroomUpdated(Showroom pShowroom) {
+        if (aShowroomService.getShowroom(pShowroom.getId()) == pShowroom) {
+            StringBuilder builder = record("SHOWROOM_UPDATE", pShowroom.getId());
+            field(builder, pShowroom.getShowroomName());
+            field(builder, pShowroom.getShowroomCapacity());
+            append(builder);
+        }
+    }
+
+    /**
+     * Records a ticket issued by {@link TicketService}.
+     *
+     * <p>
+     * The screening and the client are identified by their ID. May be called from any thread.
+     * </p>
+     *
+     * @param pTicket         the issued ticket
+     * @param pIdempotencyKey the key of the purchase that issued the ticket, or null
+     */
+    public void recordTicketIssued(Ticket pTicket, String pIdempotencyKey) {
+        StringBuilder builder = record("TICKET", pTicket.getScreening().getId(), pTicket.getSeat(),
+                pTicket.getClient().getId());
+        field(builder, MoneyHelper.toDecimalString(pTicket.getPriceInCents()));
+        field(builder, pIdempotencyKey == null ? "" : pIdempotencyKey);
+        // the purchase holds the read lock of the showroom, so a checkpoint cannot be taken right away
+        append(builder, false);
+    }
+
+    /**
+     * Applies a single journal record to the services.
+     *
+     * @param pRecord the record to apply
+     * @param pMovies movies already created during this replay, keyed by ID
+     */
+    private void apply(RecordReader pRecord, Map<Integer, Movie> pMovies) {
+        String type = pRecord.next();
+        switch (type) {
+            case "MOVIES_REMOVE" -> removeRange(aMovieService.getMovies(), pRecord);
+            case "MOVIES_ADD" -> {
+                int from = pRecord.nextInt();
+                int count = pRecord.nextInt();
+                List<Movie> movies = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    movies.add(readMovie(pRecord, pMovies));
+                }
+                aMovieService.getMovies().addAll(from, movies);
+            }
+            case "CLIENTS_REMOVE" -> removeRange(aAccountService.getClients(), pRecord);
+            case "CLIENTS_ADD" -> {
+                int from = pRecord.nextInt();
+                int count = pRecord.nextInt();
+                List<Client> clients = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    clients.add(Client.restore(pRecord.nextInt(), pRecord.next(), pRecord.next(), pRecord.next()));
+                }
+                aAccountService.getClients().addAll(from, clients);
+            }
+            case "SHOWROOMS_REMOVE" -> removeRange(aShowroomService.getShowrooms(), pRecord);
+            case "SHOWROOMS_ADD" -> {
+                int from = pRecord.nextInt();
+                int count = pRecord.nextInt();
+                List<Showroom> showrooms = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int id = pRecord.nextInt();
+                    String name = pRecord.next();
+                    int capacity = pRecord.nextInt();
+                    showrooms.add(new Showroom(id, name, capacity,
+                            FXCollections.observableArrayList(readScreenings(pRecord, pMovies, capacity))));
+                }
+                aShowroomService.getShowrooms().addAll(from, showrooms);
+            }
+            case "SHOWROOM_UPDATE" -> {
+                Showroom showroom = showroomOf(pRecord);
+                String name = pRecord.next();
+                aShowroomService.updateShowroom(showroom, name, pRecord.nextInt(), showroom.getScreeningsSnapshot());
+            }
+            case "SCREENINGS_REMOVE" -> {
+                Showroom showroom = showroomOf(pRecord);
+                int from = pRecord.nextInt();
+                int count = pRecord.nextInt();
+                aShowroomService.updateScreenings(showroom,
+                        List.copyOf(showroom.getScreeningsSnapshot().subList(from, from + count)), List.of());
+            }
+            case "SCREENINGS_ADD" -> {
+                Showroom showroom = showroomOf(pRecord);
+                // the screenings take their recorded position back from their start time
+                pRecord.nextInt();
+                aShowroomService.updateScreenings(showroom, List.of(),
+                        readScreenings(pRecord, pMovies, showroom.getShowroomCapacity()));
+            }
+            case "TICKET" -> {
+                Screening screening = aShowroomService.getScreening(pRecord.nextInt());
+                int seat = pRecord.nextInt();
+                Client client = aAccountService.getClient(pRecord.nextInt());
+                long price = MoneyHelper.parse(pRecord.next());
+                String key = pRecord.next();
+                if (screening == null || client == null) {
+                    throw new IllegalArgumentException("Ticket refers to an unknown screening or client");
+                }
+                // snapshots never hold a purchase in progress, so the seat is still free
+                if (!screening.getSeats().claim(seat)) {
+                    throw new IllegalArgumentException("Ticket refers to seat " + seat + " which is already taken");
+                }
+                screening.takeTicket();
+                TicketService.getInstance().restoreTicket(
+                        new Ticket(screening.getMovie(), screening, price, client, seat), key.isEmpty() ? null : key);
+            }
+            default -> throw new IllegalArgumentException("Unknown record type " + type);
+        }
+    }
+
+    /**
+     * Removes the range of elements described by a record from a list.
+     *
+     * @param pList   the list to remove elements from
+     * @param pRecord the record, positioned on the start index and element count
+     */
+    private static void removeRange(ObservableList<?> pList, RecordReader pRecord) {
+        int from = pRecord.nextInt();
+        int count = pRecord.nextInt();
+        pList.remove(from, from + count);
+    }
+
+    /**
+     * Reads a movie from a record, reusing the movie already created for the same ID. A movie
+     * edited since, under the same ID, is created anew.
+     *
+     * @param pRecord the record, positioned on a movie
+     * @param pMovies movies already created during this replay
+     * @return the movie
+     */
+    private static Movie readMovie(RecordReader pRecord, Map<Integer, Movie> pMovies) {
+        int id = pRecord.nextInt();
+        String title = pRecord.next();
+        int runtime = pRecord.nextInt();
+        Movie movie = pMovies.get(id);
+        if (movie == null || !movie.getTitle().equals(title) || movie.getRuntime() != runtime) {
+            movie = new Movie(id, title, runtime);
+            pMovies.put(id, movie);
+        }
+        return movie;
+    }
+
+    /**
+     * Reads a counted list of screenings from a record.
+     *
+     * @param pRecord the record, positioned on the screening count
+     * @param pMovies   movies already created during this replay
+     * @param pCapacity capacity of the showroom receiving the screenings, used to size their seats
+     * @return the screenings
+     */
+    private static List<Screening> readScreenings(RecordReader pRecord, Map<Integer, Movie> pMovies, int pCapacity) {
+        int count = pRecord.nextInt();
+        List<Screening> screenings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = pRecord.nextInt();
+            Movie movie = readMovie(pRecord, pMovies);
+            int ticketCount = pRecord.nextInt();
+            long price = MoneyHelper.parse(pRecord.next());
+            LocalDateTime dateTime = LocalDateTime.parse(pRecord.next());
+            SeatMap seats = new SeatMap(pCapacity);
+            String claimedSeats = pRecord.next();
+            if (!claimedSeats.isEmpty()) {
+                for (String seat : claimedSeats.split(",")) {
+                    seats.claim(Integer.parseInt(seat));
+                }
+            }
+            screenings.add(Screening.restore(id, movie, ticketCount, price, dateTime, seats));
+        }
+        return screenings;
+    }
+
+    /**
+     * Records the whole content of a list after it was reordered, as a removal followed by an addition.
+     */
+    private <T> void recordListReplaced(String pPrefix, List<? extends T> pList, FieldWriter<T> pWriter) {
+        append(record(pPrefix + "_REMOVE", 0, pList.size()));
+        append(listRecord(pPrefix + "_ADD", 0, pList, pWriter));
+    }
+
+    /**
+     * Starts journaling the changes to the screenings of a showroom, under the ID of the showroom.
+     *
+     * @param pShowroom the showroom
+     */
+    private void startRecordingScreenings(Showroom pShowroom) {
+        ListChangeListener<Screening> listener = change -> {
+            while (change.next()) {
+                if (change.wasRemoved()) {
+                    append(record("SCREENINGS_REMOVE", pShowroom.getId(), change.getFrom(), change.getRemovedSize()));
+                }
+                if (change.wasAdded()) {
+                    append(listRecord("SCREENINGS_ADD", pShowroom.getId(), change.getFrom(), change.getAddedSubList(),
+                            this::appendScreening));
+                }
+            }
+        };
+        aScreeningListeners.put(pShowroom, listener);
+        pShowroom.getShowroomScreenings().addListener(listener);
+    }
+
+    /**
+     * Stops journaling the changes to the screenings of a showroom.
+     *
+     * @param pShowroom the showroom
+     */
+    private void stopRecordingScreenings(Showroom pShowroom) {
+        ListChangeListener<Screening> listener = aScreeningListeners.remove(pShowroom);
+        if (listener != null) {
+            pShowroom.getShowroomScreenings().removeListener(listener);
+        }
+    }
+
+    /**
+     * Reads the ID of a showroom from a record and finds the showroom.
+     *
+     * @param pRecord the record, positioned on a showroom ID
+     * @return the showroom
+     * @throws IllegalArgumentException if no showroom has that ID
+     */
+    private Showroom showroomOf(RecordReader pRecord) {
+        Showroom showroom = aShowroomService.getShowroom(pRecord.nextInt());
+        if (showroom == null) {
+            throw new IllegalArgumentException("Record refers to an unknown showroom");
+        }
+        return showroom;
+    }
+
+    private void appendMovie(StringBuilder pBuilder, Movie pMovie) {
+        field(pBuilder, pMovie.getId());
+        field(pBuilder, pMovie.getTitle());
+        field(pBuilder, pMovie.getRuntime());
+    }
+
+    private void appendClient(StringBuilder pBuilder, Client pClient) {
+        field(pBuilder, pClient.getId());
+        field(pBuilder, pClient.getUserName());
+        field(pBuilder, pClient.getPasswordHash());
+        field(pBuilder, pClient.getEmail() == null ? "" : pClient.getEmail());
+    }
+
+    private void appendScreening(StringBuilder pBuilder, Screening pScreening) {
+        field(pBuilder, pScreening.getId());
+        appendMovie(pBuilder, pScreening.getMovie());
+        field(pBuilder, pScreening.getTicketCount());
+        field(pBuilder, MoneyHelper.toDecimalString(pScreening.getPricePerTicketInCents()));
+        field(pBuilder, pScreening.getDateTime().toString());
+        field(pBuilder, claimedSeats(pScreening.getSeats()));
+    }
+
+    /**
+     * Lists the claimed seats of a seat map as comma-separated seat numbers.
+     */
+    private static String claimedSeats(SeatMap pSeats) {
+        if (pSeats == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        long[] words = pSeats.toWords();
+        for (int index = 0; index < words.length; index++) {
+            for (long word = words[index]; word != 0; word &= word - 1) {
+                if (!builder.isEmpty()) {
+                    builder.append(',');
+                }
+                builder.append((index << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+        return builder.toString();
+    }
+
+    private void appendShowroom(StringBuilder pBuilder, Showroom pShowroom) {
+        field(pBuilder, pShowroom.getId());
+        field(pBuilder, pShowroom.getShowroomName());
+        field(pBuilder, pShowroom.getShowroomCapacity());
+        field(pBuilder, pShowroom.getShowroomScreenings().size());
+        for (Screening screening : pShowroom.getShowroomScreenings()) {
+            appendScreening(pBuilder, screening);
+        }
+    }
+
+    /**
+     * Starts a record with its type followed by integer fields.
+     */
+    private static StringBuilder record(String pType, int... pFields) {
+        StringBuilder builder = new StringBuilder(pType);
+        for (int value : pFields) {
+            field(builder, value);
+        }
+        return builder;
+    }
+
+    /**
+     * Builds a record holding a counted list of elements.
+     */
+    private static <T> StringBuilder listRecord(String pType, int pFrom, List<? extends T> pElements, FieldWriter<T> pWriter) {
+        StringBuilder builder = record(pType, pFrom, pElements.size());
+        for (T element : pElements) {
+            pWriter.write(builder, element);
+        }
+        return builder;
+    }
+
+    /**
+     * Builds a record holding a counted list of elements, prefixed with the index of a showroom.
+     */
+    private static <T> StringBuilder listRecord(String pType, int pShowroom, int pFrom, List<? extends T> pElements, FieldWriter<T> pWriter) {
+        StringBuilder builder = record(pType, pShowroom, pFrom, pElements.size());
+        for (T element : pElements) {
+            pWriter.write(builder, element);
+        }
+        return builder;
+    }
+
+    private static void field(StringBuilder pBuilder, int pValue) {
+        pBuilder.append('\t').append(pValue);
+    }
+
+    /**
+     * Appends a text field, escaping backslashes, tabs and line breaks.
+     */
+    private static void field(StringBuilder pBuilder, String pValue) {
+        pBuilder.append('\t');
+        for (int i = 0; i < pValue.length(); i++) {
+            char c = pValue.charAt(i);
+            switch (c) {
+                case '\\' -> pBuilder.append("\\\\");
+                case '\t' -> pBuilder.append("\\t");
+                case '\n' -> pBuilder.append("\\n");
+                case '\r' -> pBuilder.append("\\r");
+                default -> pBuilder.append(c);
+            }
+        }
+    }
+
+    /**
+     * Numbers a record and queues it for the writer thread, unless the journal is closed
+     * or being replayed. Takes a checkpoint once enough records were appended.
+     *
+     * @param pRecord the record to write
+     */
+    private void append(StringBuilder pRecord) {
+        append(pRecord, true);
+    }
+
+    /**
+     * Numbers a record and queues it for the writer thread, unless the journal is closed
+     * or being replayed. Takes a checkpoint once enough records were appended, right away
+     * if allowed and called on the owner thread, or later on the JavaFX application thread.
+     *
+     * @param pRecord        the record to write
+     * @param pMayCheckpoint whether a checkpoint may be taken right away, which is not the
+     *                       case while the lock of a showroom is held for reading
+     */
+    private void append(StringBuilder pRecord, boolean pMayCheckpoint) {
+        boolean checkpointNow = false;
+        boolean checkpointLater = false;
+        synchronized (this) {
+            if (aChannel == null || aReplaying) {
+                return;
+            }
+            checkWritable();
+            aSequence++;
+            aPending.add(pRecord.insert(0, aSequence + "\t").append('\n').toString());
+            if (++aRecordsSinceCheckpoint >= aCheckpointInterval) {
+                if (pMayCheckpoint && Thread.currentThread() == aOwnerThread) {
+                    checkpointNow = true;
+                } else if (!aCheckpointScheduled) {
+                    aCheckpointScheduled = true;
+                    checkpointLater = true;
+                }
+            }
+        }
+        // outside of the monitor: the checkpoint waits for purchases that may be appending their ticket
+        if (checkpointNow) {
+            checkpoint();
+        } else if (checkpointLater) {
+            try {
+                Platform.runLater(this::checkpoint);
+            } catch (IllegalStateException e) {
+                // no JavaFX toolkit: the owner thread takes the checkpoint with its next record
+            }
+        }
+    }
+
+    /**
+     * Body of the writer thread: waits for records, then writes and forces every pending
+     * record in a single batch until the stop marker is received. Checkpoints are handled
+     * in queue order, once the records before them are on disk.
+     */
+    private void runWriter() {
+        List<Object> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(aPending.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            aPending.drainTo(batch);
+
+            StringBuilder content = new StringBuilder();
+            for (Object item : batch) {
+                if (item == aStopMarker) {
+                    running = false;
+                } else if (item instanceof Checkpoint checkpoint) {
+                    writeRecords(content);
+                    writeCheckpoint(checkpoint);
+                } else {
+                    content.append((String) item);
+                }
+            }
+            batch.clear();
+            writeRecords(content);
+        }
+    }
+
+    /**
+     * Writes and forces the given records to the journal, then clears them.
+     *
+     * <p>
+     * Once a write fails, no record is written anymore, since the records after a missing one
+     * could not be replayed, and {@link #checkWritable()} refuses every later change. The
+     * changes whose records were lost are still saved by the next checkpoint, such as the one
+     * taken when the journal is closed, if the snapshot can be written.
+     * </p>
+     *
+     * @param pContent the records to write
+     */
+    private void writeRecords(StringBuilder pContent) {
+        if (pContent.isEmpty()) {
+            return;
+        }
+        if (aFailure == null) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(pContent.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    aChannel.write(buffer);
+                }
+                aChannel.force(false);
+            } catch (IOException e) {
+                aFailure = e;
+                aLogger.log(System.Logger.Level.ERROR, "Failed to write journal records; no further change is accepted", e);
+            }
+        }
+        pContent.setLength(0);
+    }
+
+    /**
+     * Saves a snapshot and, once it is safely on disk, empties the journal.
+     *
+     * @param pCheckpoint the checkpoint to save
+     */
+    private void writeCheckpoint(Checkpoint pCheckpoint) {
+        try {
+            SnapshotService.getInstance().write(aSnapshotPath, pCheckpoint.snapshot());
+            aChannel.truncate(0);
+            aChannel.force(true);
+        } catch (IOException e) {
+            // the journal is kept whole, so nothing is lost if the snapshot could not be saved
+            aLogger.log(System.Logger.Level.ERROR, "Failed to save snapshot", e);
+        }
+    }
+
+    /**
+     * A snapshot waiting to be saved by the writer thread.
+     *
+     * @param snapshot the encoded snapshot
+     */
+    private record Checkpoint(byte[] snapshot) {
+    }
+
+    /**
+     * Writes the fields of an element into a record.
+     */
+    @FunctionalInterface
+    private interface FieldWriter<T> {
+        void write(StringBuilder pBuilder, T pElement);
+    }
+
+    /**
+     * Reads the fields of a record one at a time.
+     */
+    private static class RecordReader {
+        private final String[] aFields;
+        private int aPosition = 0;
+
+        RecordReader(String pLine) {
+            this.aFields = pLine.split("\t", -1);
+        }
+
+        String next() {
+            if (aPosition >= aFields.length) {
+                throw new IllegalArgumentException("Record is incomplete");
+            }
+            return unescape(aFields[aPosition++]);
+        }
+
+        int nextInt() {
+            return Integer.parseInt(next());
+        }
+
+        long nextLong() {
+            return Long.parseLong(next());
+        }
+
+        private static String unescape(String pValue) {
+            if (pValue.indexOf('\\') < 0) {
+                return pValue;
+            }
+            StringBuilder builder = new StringBuilder(pValue.length());
+            for (int i = 0; i < pValue.length(); i++) {
+                char c = pValue.charAt(i);
+                if (c == '\\' && i + 1 < pValue.length()) {
+                    char escaped = pValue.charAt(++i);
+                    builder.append(switch (escaped) {
+                        case 't' -> '\t';
+                        case 'n' -> '\n';
+                        case 'r' -> '\r';
+                        default -> escaped;
+                    });
+                } else {
+                    builder.append(c);
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
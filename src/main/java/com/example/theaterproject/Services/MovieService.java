@@ -1,10 +1,10 @@
 package com.example.theaterproject.Services;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import com.example.theaterproject.Models.Movie;
 
-import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,27 +14,49 @@ import java.util.List;
  * This singleton service maintains an observable list of movies and provides
  * methods for retrieving, adding, and removing movies. The observable list
  * allows UI components to automatically reflect changes to the movie collection.
+ * Like every observable list of the services, it is confined to the JavaFX
+ * application thread and must only be modified there.
+ * </p>
+ *
+ * <p>
+ * Changes made through {@link #setMovies(ObservableList)} reach the listeners as a single
+ * change event, so bulk edits refresh the views once.
+ * Every change is also published as a {@link EventService.MoviesChanged} event.
  * </p>
  */
 public class MovieService {
 
-    private static MovieService aInstance;
+    /**
+     * Holds the singleton instance. The JVM creates it once, on first use, and
+     * publishes it safely to every thread.
+     */
+    private static final class Holder {
+        private static final MovieService aInstance = new MovieService();
+    }
 
     private final ObservableList<Movie> aMovies =
             FXCollections.observableArrayList();
 
-    private MovieService() { }
+    /**
+     * Immutable copy of {@link #aMovies}, republished after every change.
+     */
+    private volatile List<Movie> aMoviesSnapshot = List.of();
+
+    private MovieService() {
+        aMovies.addListener((ListChangeListener<Movie>) change -> {
+            aMoviesSnapshot = List.copyOf(aMovies);
+            CommandService.getInstance().stateChanged();
+            EventService.getInstance().publish(new EventService.MoviesChanged());
+        });
+    }
 
     /**
-     * Returns the singleton instance of MovieService, creating it if necessary.
+     * Returns the singleton instance of MovieService, creating it on first use.
      *
      * @return the singleton MovieService instance
      */
     public static MovieService getInstance() {
-        if (aInstance == null) {
-            aInstance = new MovieService();
-        }
-        return aInstance;
+        return Holder.aInstance;
     }
 
     /**
@@ -47,12 +69,20 @@ public class MovieService {
     }
 
     /**
-     * Replaces the current movie collection with a new collection.
+     * Retrieves an immutable copy of the movies, which may be read from any thread.
+     *
+     * @return the movies as of their last change
+     */
+    public List<Movie> getMoviesSnapshot() {
+        return aMoviesSnapshot;
+    }
+
+    /**
+     * Replaces the current movie collection with a new collection, notifying listeners once.
      *
      * @param pMovies the new collection of movies to set
      */
     public void setMovies(ObservableList<Movie> pMovies) {
-        aMovies.clear();
         aMovies.setAll(pMovies);
     }
 
@@ -65,6 +95,32 @@ public class MovieService {
         aMovies.add(pMovie);
     }
 
+    /**
+     * Replaces a movie with its edited version, at the same position in the movie collection,
+     * so that views showing the movies only have to update the one movie. The movie is added
+     * at the end if the one it replaces is not in the collection.
+     *
+     * <p>
+     * The screenings of the movie are replaced first with copies showing the edited version,
+     * through {@link ShowroomService#replaceMovie(Movie)}, so that they follow its new title
+     * and runtime.
+     * </p>
+     *
+     * @param pMovie       the movie to replace
+     * @param pReplacement the edited movie, under the ID of the movie it replaces; cannot be null
+     * @throws IllegalArgumentException if the new runtime makes a screening of the movie overlap
+     *                                  another screening; the movie is not replaced then
+     */
+    public void replaceMovie(Movie pMovie, Movie pReplacement) {
+        ShowroomService.getInstance().replaceMovie(pReplacement);
+        int index = aMovies.indexOf(pMovie);
+        if (index < 0) {
+            aMovies.add(pReplacement);
+        } else {
+            aMovies.set(index, pReplacement);
+        }
+    }
+
     /**
      * Removes a movie from the movie collection.
      *
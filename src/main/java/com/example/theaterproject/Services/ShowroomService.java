@@ -1,12 +1,33 @@
 package com.example.theaterproject.Services;
 
 import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.ScreeningTree;
 import com.example.theaterproject.Models.Showroom;
+import com.example.theaterproject.Models.ShowroomSchedule;
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import com.example.theaterproject.Models.Movie;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Service class for managing showrooms and their screenings in the theater system.
@@ -17,28 +38,180 @@ import java.util.List;
  * It also handles retrieving all screenings across all showrooms and filtering
  * screenings by movie.
  * </p>
+ *
+ * <p>
+ * Screenings are indexed by the ID of their movie, and by their own ID, as they are
+ * added to or removed from a showroom, so looking up the screenings of a movie, or a
+ * screening, does not require scanning every showroom. An edited movie keeps its ID, and
+ * {@link #replaceMovie(Movie)} replaces its screenings with copies showing the edited
+ * version. The screenings added or removed by one change to a showroom reach the list of
+ * each movie as a single change too.
+ * </p>
+ *
+ * <p>
+ * Changes made through {@link #setShowrooms(ObservableList)}, and the screenings changed by
+ * {@link #updateShowroom}, reach the listeners as a single change event, so bulk edits and
+ * imports refresh the views once. Changes are also published through {@link EventService}:
+ * {@link EventService.ShowroomsChanged} for the showrooms,
+ * {@link EventService.ShowroomUpdated} for the name and capacity of a showroom and
+ * {@link EventService.ScreeningsChanged} for the screenings of a showroom.
+ * </p>
+ *
+ * <p>
+ * The start times of the screenings of each movie are also kept in order, which backs a
+ * live next-showtime property per movie. The property is updated as screenings are added
+ * or removed, and, through a single timer armed for the earliest next showtime, as
+ * screenings start. The movies are also kept ordered by next showtime, so arming the timer
+ * and moving the properties whose showtime was reached only visit those properties. The
+ * timer is only created once a property is requested, and the property of a movie is
+ * dropped once the movie leaves the catalog.
+ * </p>
+ *
+ * <p>
+ * The observable lists of this service, and the screening lists of its showrooms, are
+ * confined to the JavaFX application thread: they are only modified there, and only read
+ * there. Other threads, such as ticket purchases, read {@link #getShowroomsSnapshot()}
+ * instead, which takes no lock. Each showroom also has its own read-write lock: edits to
+ * a showroom hold its write lock while ticket purchases for its screenings hold its read
+ * lock, so editing one showroom never blocks bookings in another.
+ * </p>
  */
 public class ShowroomService {
 
-    private static ShowroomService aInstance;
+    private static final class Holder {
+        private static final ShowroomService aInstance = new ShowroomService();
+    }
 
-    private final ObservableList<Showroom> aShowrooms =
-            FXCollections.observableArrayList();
+    private final ObservableList<Showroom> aShowrooms = FXCollections.observableArrayList();
 
-    private final double aDefaultTicketPrice = 12;
+    /**
+     * Price of a ticket suggested for new screenings, in cents.
+     */
+    private final long aDefaultTicketPriceInCents = 1200;
+
+    /**
+     * Immutable copy of {@link #aShowrooms}, republished after every change.
+     */
+    private volatile List<Showroom> aShowroomsSnapshot = List.of();
+
+    /**
+     * Lock of each showroom, created on first use.
+     */
+    private final Map<Showroom, ReadWriteLock> aShowroomLocks = new ConcurrentHashMap<>();
 
-    private ShowroomService() { }
+    /**
+     * Screenings of every showroom, grouped by the ID of their movie.
+     */
+    private final Map<Integer, ObservableList<Screening>> aScreeningsByMovie = new HashMap<>();
 
     /**
-     * Returns the singleton instance of ShowroomService, creating it if necessary.
+     * Read-only views of the lists in {@link #aScreeningsByMovie}, handed out to callers.
+     */
+    private final Map<Integer, ObservableList<Screening>> aScreeningsByMovieViews = new HashMap<>();
+
+    /**
+     * Start times of the screenings of every showroom, grouped by the ID of their movie,
+     * with the number of screenings starting at each time.
+     */
+    private final Map<Integer, TreeMap<LocalDateTime, Integer>> aShowtimesByMovie = new HashMap<>();
+
+    /**
+     * Next-showtime properties handed out by {@link #getNextShowtime(Movie)}, by movie ID.
+     */
+    private final Map<Integer, ReadOnlyObjectWrapper<LocalDateTime>> aNextShowtimes = new HashMap<>();
+
+    /**
+     * IDs of the movies whose next-showtime property is set, grouped by the showtime it holds,
+     * so the earliest one is found without going over every property.
+     */
+    private final TreeMap<LocalDateTime, Set<Integer>> aMoviesByNextShowtime = new TreeMap<>();
+
+    /**
+     * Screenings of every showroom, by ID.
+     */
+    private final Map<Integer, Screening> aScreeningsById = new HashMap<>();
+
+    /**
+     * Fires when the earliest next showtime is reached, to move the properties past it;
+     * created with the first next-showtime property.
+     */
+    private PauseTransition aShowtimeTimer;
+
+    /**
+     * Showtime at which {@link #aShowtimeTimer} is set to fire, or null if it is stopped.
+     */
+    private LocalDateTime aTimerShowtime;
+
+    /**
+     * Listener keeping the movie index in sync with the screening list of each showroom, by showroom.
+     */
+    private final Map<Showroom, ListChangeListener<Screening>> aScreeningIndexListeners = new HashMap<>();
+
+    /**
+     * Showrooms of this service, by ID.
+     */
+    private final Map<Integer, Showroom> aShowroomsById = new HashMap<>();
+
+    private ShowroomService() {
+        // track screening lists of showrooms as they enter and leave the service
+        aShowrooms.addListener((ListChangeListener<Showroom>) change -> {
+            List<Screening> removed = new ArrayList<>();
+            List<Screening> added = new ArrayList<>();
+            while (change.next()) {
+                for (Showroom showroom : change.getRemoved()) {
+                    aShowroomsById.remove(showroom.getId(), showroom);
+                    ListChangeListener<Screening> listener = aScreeningIndexListeners.remove(showroom);
+                    if (listener != null) {
+                        showroom.getShowroomScreenings().removeListener(listener);
+                    }
+                    removed.addAll(showroom.getShowroomScreenings());
+                }
+                for (Showroom showroom : change.getAddedSubList()) {
+                    aShowroomsById.put(showroom.getId(), showroom);
+                    ListChangeListener<Screening> listener = screeningIndexListener(showroom);
+                    aScreeningIndexListeners.put(showroom, listener);
+                    showroom.getShowroomScreenings().addListener(listener);
+                    added.addAll(showroom.getShowroomScreenings());
+                }
+            }
+            reindexScreenings(removed, added);
+            aShowroomsSnapshot = List.copyOf(aShowrooms);
+            CommandService.getInstance().stateChanged();
+            EventService.getInstance().publish(new EventService.ShowroomsChanged());
+        });
+        // drop the next-showtime property of a movie once it leaves the catalog
+        MovieService.getInstance().getMovies().addListener((ListChangeListener<Movie>) change -> {
+            Set<Integer> removed = new HashSet<>();
+            Set<Integer> added = new HashSet<>();
+            while (change.next()) {
+                for (Movie movie : change.getRemoved()) {
+                    removed.add(movie.getId());
+                }
+                for (Movie movie : change.getAddedSubList()) {
+                    added.add(movie.getId());
+                }
+            }
+            // an edited movie is removed and added back under the same ID
+            removed.removeAll(added);
+            for (int movieId : removed) {
+                ReadOnlyObjectWrapper<LocalDateTime> nextShowtime = aNextShowtimes.remove(movieId);
+                if (nextShowtime != null) {
+                    setNextShowtime(movieId, nextShowtime, null);
+                }
+            }
+            if (!removed.isEmpty()) {
+                scheduleShowtimeTimer();
+            }
+        });
+    }
+
+    /**
+     * Returns the singleton instance of ShowroomService, creating it on first use.
      *
      * @return the singleton ShowroomService instance
      */
     public static ShowroomService getInstance() {
-        if (aInstance == null) {
-            aInstance = new ShowroomService();
-        }
-        return aInstance;
+        return Holder.aInstance;
     }
 
     /**
@@ -51,7 +224,38 @@ public class ShowroomService {
     }
 
     /**
-     * Adds a new showroom to the showroom collection.
+     * Retrieves an immutable copy of the showrooms, which may be read from any thread.
+     *
+     * @return the showrooms as of their last change
+     */
+    public List<Showroom> getShowroomsSnapshot() {
+        return aShowroomsSnapshot;
+    }
+
+    /**
+     * Retrieves a showroom of this service by its ID. Must be called on the JavaFX application thread.
+     *
+     * @param pId the ID of the showroom
+     * @return the showroom, or {@code null} if this service holds no showroom with that ID
+     */
+    public Showroom getShowroom(int pId) {
+        return aShowroomsById.get(pId);
+    }
+
+    /**
+     * Retrieves the lock of a showroom. Its write lock is held while the showroom is edited
+     * and its read lock while tickets are sold for its screenings.
+     *
+     * @param pShowroom the showroom
+     * @return the read-write lock of the showroom
+     */
+    public ReadWriteLock getLock(Showroom pShowroom) {
+        return aShowroomLocks.computeIfAbsent(pShowroom, showroom -> new ReentrantReadWriteLock());
+    }
+
+    /**
+     * Adds a new showroom to the showroom collection. A showroom never holds overlapping
+     * screenings, which its constructor checks.
      *
      * @param pShowroom the showroom to add; cannot be null
      */
@@ -60,22 +264,30 @@ public class ShowroomService {
     }
 
     /**
-     * Removes a showroom from the showroom collection.
+     * Removes a showroom from the showroom collection. Its lock is dropped only once released,
+     * so a purchase never takes a fresh lock while the showroom is still being removed.
      *
      * @param pShowroom the showroom to remove
      */
     public void removeShowroom(Showroom pShowroom) {
-        aShowrooms.remove(pShowroom);
+        Lock lock = getLock(pShowroom).writeLock();
+        lock.lock();
+        try {
+            aShowrooms.remove(pShowroom);
+        } finally {
+            lock.unlock();
+        }
+        aShowroomLocks.remove(pShowroom);
     }
 
     /**
-     * Replaces the current showroom collection with a new collection.
+     * Replaces the current showroom collection with a new collection, notifying listeners once.
      *
      * @param pShowrooms the new collection of showrooms to set
      */
     public void setShowrooms(ObservableList<Showroom> pShowrooms) {
-        aShowrooms.clear();
-        aShowrooms.addAll(pShowrooms);
+        aShowrooms.setAll(pShowrooms);
+        aShowroomLocks.keySet().removeIf(showroom -> !aShowroomsSnapshot.contains(showroom));
     }
 
     /**
@@ -84,6 +296,7 @@ public class ShowroomService {
      * @param pName       the name of the showroom
      * @param pCapacity   the seating capacity of the showroom
      * @param pScreenings the initial list of screenings for the showroom
+     * @throws IllegalArgumentException if two of the screenings overlap
      */
     public void createShowroom(String pName, int pCapacity, ObservableList<Screening> pScreenings) {
         Showroom showroom = new Showroom(pName, pCapacity, pScreenings);
@@ -97,23 +310,167 @@ public class ShowroomService {
      * @param pName       the new name for the showroom
      * @param pCapacity   the new seating capacity for the showroom
      * @param pScreenings the new list of screenings for the showroom
+     * @throws IllegalArgumentException if two of the screenings overlap
      */
     public void updateShowroom(Showroom pShowroom, String pName, int pCapacity, ObservableList<Screening> pScreenings) {
-        pShowroom.setShowroomName(pName);
-        pShowroom.setShowroomCapacity(pCapacity);
-        // Instead of resetting and replacing, clear and add items to trigger listener
-        ObservableList<Screening> existingScreenings = pShowroom.getShowroomScreenings();
-        existingScreenings.clear();
-        existingScreenings.addAll(pScreenings);
+        updateShowroom(pShowroom, pName, pCapacity, ScreeningTree.of(pScreenings));
+    }
+
+    /**
+     * Updates an existing showroom with new details, such as the screenings of a
+     * {@link com.example.theaterproject.Models.ScreeningDraft} derived from its screenings.
+     *
+     * <p>
+     * Only the screenings that differ from the current ones of the showroom are removed or
+     * added, in a single change, and only the added screenings are checked for conflicts,
+     * since the screenings the showroom keeps are known not to overlap.
+     * </p>
+     *
+     * @param pShowroom   the showroom to update
+     * @param pName       the new name for the showroom
+     * @param pCapacity   the new seating capacity for the showroom
+     * @param pScreenings the new screenings for the showroom
+     * @throws IllegalArgumentException if an added screening overlaps another screening, or if
+     *                                  the capacity leaves out a seat already sold
+     */
+    public void updateShowroom(Showroom pShowroom, String pName, int pCapacity, ScreeningTree pScreenings) {
+        ScreeningTree current = pShowroom.getScreeningsSnapshot();
+        // an identity set, so removing them from the showroom costs a single pass
+        Set<Screening> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Screening> added = new ArrayList<>();
+        if (pScreenings != current) {
+            Set<Screening> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+            kept.addAll(pScreenings);
+            for (Screening screening : current) {
+                if (!kept.remove(screening)) {
+                    removed.add(screening);
+                }
+            }
+            // what is left was not scheduled in the showroom yet; kept in start time order
+            for (Screening screening : pScreenings) {
+                if (kept.contains(screening)) {
+                    added.add(screening);
+                }
+            }
+        }
+        // validate before touching the showroom so a rejected update leaves it unchanged
+        for (Screening screening : added) {
+            Screening conflict = pScreenings.findConflict(screening, screening);
+            if (conflict != null) {
+                throw new IllegalArgumentException(ShowroomSchedule.conflictMessage(screening, conflict));
+            }
+        }
+        // resizing seats and replacing screenings must not race ticket purchases in this showroom
+        Lock lock = getLock(pShowroom).writeLock();
+        lock.lock();
+        try {
+            if (pCapacity != pShowroom.getShowroomCapacity() || !pName.equals(pShowroom.getShowroomName())) {
+                // the capacity first, since it may be rejected
+                pShowroom.setShowroomCapacity(pCapacity);
+                pShowroom.setShowroomName(pName);
+                JournalService.getInstance().recordShowroomUpdated(pShowroom);
+                CommandService.getInstance().stateChanged();
+                EventService.getInstance().publish(new EventService.ShowroomUpdated(pShowroom));
+            }
+            // a single change, so listeners of the screenings are notified once
+            updateScreenings(pShowroom, removed, added);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes some screenings from a showroom and adds others, as a single change. Added
+     * screenings are checked against the screenings the showroom keeps, and the change is
+     * applied while no ticket is being sold for the showroom.
+     *
+     * @param pShowroom the showroom
+     * @param pRemoved  the screenings to remove, compared by identity
+     * @param pAdded    the screenings to add
+     * @throws IllegalArgumentException if an added screening overlaps another screening of the
+     *                                  showroom, or has a seat sold beyond its capacity
+     */
+    public void updateScreenings(Showroom pShowroom, Collection<Screening> pRemoved, Collection<Screening> pAdded) {
+        Lock lock = getLock(pShowroom).writeLock();
+        lock.lock();
+        try {
+            pShowroom.updateScreenings(pRemoved, pAdded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces every screening of a movie with a copy showing its edited version, under the same
+     * ID, so that the screenings show the current title of the movie and end after its current
+     * runtime. Each showroom holding screenings of the movie is changed once.
+     *
+     * <p>
+     * The copies are made while no ticket is being sold for their showrooms, so they carry every
+     * ticket sold. A longer runtime may make a screening overlap the next one in its showroom; the
+     * edit is then rejected before any screening is replaced.
+     * </p>
+     *
+     * @param pMovie the edited movie
+     * @throws IllegalArgumentException if a screening showing the edited movie would overlap another screening
+     */
+    public void replaceMovie(Movie pMovie) {
+        ObservableList<Screening> screenings = aScreeningsByMovie.get(pMovie.getId());
+        if (screenings == null || screenings.isEmpty()) {
+            return;
+        }
+        Map<Showroom, List<Screening>> originals = new IdentityHashMap<>();
+        for (Screening screening : screenings) {
+            if (screening.getMovie() != pMovie && screening.getShowroom() != null) {
+                originals.computeIfAbsent(screening.getShowroom(), showroom -> new ArrayList<>()).add(screening);
+            }
+        }
+        // locked in the order of the showrooms, as a checkpoint does
+        List<Lock> locks = new ArrayList<>();
+        try {
+            for (Showroom showroom : aShowrooms) {
+                if (originals.containsKey(showroom)) {
+                    Lock lock = getLock(showroom).writeLock();
+                    lock.lock();
+                    locks.add(lock);
+                }
+            }
+            // every showroom is validated before any of them is changed
+            Map<Showroom, List<Screening>> copies = new IdentityHashMap<>();
+            for (Map.Entry<Showroom, List<Screening>> entry : originals.entrySet()) {
+                ScreeningTree kept = entry.getKey().getScreeningsSnapshot();
+                for (Screening screening : entry.getValue()) {
+                    kept = kept.without(screening);
+                }
+                List<Screening> showroomCopies = new ArrayList<>(entry.getValue().size());
+                for (Screening screening : entry.getValue()) {
+                    Screening copy = screening.withMovie(pMovie);
+                    Screening conflict = kept.findConflict(copy, null);
+                    if (conflict != null) {
+                        throw new IllegalArgumentException(ShowroomSchedule.conflictMessage(copy, conflict));
+                    }
+                    kept = kept.with(copy);
+                    showroomCopies.add(copy);
+                }
+                copies.put(entry.getKey(), showroomCopies);
+            }
+            for (Map.Entry<Showroom, List<Screening>> entry : originals.entrySet()) {
+                entry.getKey().updateScreenings(entry.getValue(), copies.get(entry.getKey()));
+            }
+        } finally {
+            for (Lock lock : locks) {
+                lock.unlock();
+            }
+        }
     }
 
     /**
      * Retrieves the default ticket price for screenings.
      *
-     * @return the default ticket price
+     * @return the default ticket price, in cents
      */
-    public double getaDefaultTicketPrice() {
-        return aDefaultTicketPrice;
+    public long getaDefaultTicketPriceInCents() {
+        return aDefaultTicketPriceInCents;
     }
 
     /**
@@ -133,27 +490,250 @@ public class ShowroomService {
      * Retrieves all screenings for a specific movie across all showrooms.
      *
      * <p>
-     * Filters the complete list of screenings to return only those that match
-     * the provided movie by title comparison.
+     * Screenings are matched to the provided movie by ID. The returned list is a
+     * read-only live view of the movie index: it reflects screenings added or removed
+     * later on, and repeated calls for the same movie return the same list.
      * </p>
      *
      * @param pMovie the movie to filter screenings by
-     * @return an ObservableList containing all screenings of the specified movie
+     * @return an unmodifiable ObservableList containing all screenings of the specified movie
      */
     public ObservableList<Screening> getScreeningFor(Movie pMovie) {
-        ObservableList<Screening> result = FXCollections.observableArrayList();
-
-        // go through screening list. add to result list every screening that matches pMovie
         if (pMovie == null) {
-            return result;
+            return FXCollections.emptyObservableList();
+        }
+        ObservableList<Screening> view = aScreeningsByMovieViews.get(pMovie.getId());
+        if (view == null) {
+            view = FXCollections.unmodifiableObservableList(screeningsOf(pMovie.getId()));
+            aScreeningsByMovieViews.put(pMovie.getId(), view);
         }
-        String title = pMovie.getTitle();
-        for (Screening s : getAllScreenings()) {
-            Movie m = s.getMovie();
-            if (m != null && m.getTitle() != null && m.getTitle().equals(title)) {
-                result.add(s);
+        return view;
+    }
+
+    /**
+     * Retrieves a screening scheduled in one of the showrooms by its ID. Must be called on the
+     * JavaFX application thread.
+     *
+     * @param pId the ID of the screening
+     * @return the screening, or {@code null} if no showroom holds a screening with that ID
+     */
+    public Screening getScreening(int pId) {
+        return aScreeningsById.get(pId);
+    }
+
+    /**
+     * Retrieves the next showtime of a movie, across all showrooms, as a property that stays
+     * up to date as screenings are scheduled, removed and started. Must be called on the JavaFX
+     * application thread.
+     *
+     * <p>
+     * Movies are matched by ID. Repeated calls for the same movie return the same property, as
+     * long as the movie stays in the catalog of {@link MovieService}; the property is dropped
+     * once the movie is removed from it.
+     * </p>
+     *
+     * @param pMovie the movie
+     * @return the start time of the next screening of the movie, holding null if none is scheduled
+     */
+    public ReadOnlyObjectProperty<LocalDateTime> getNextShowtime(Movie pMovie) {
+        ReadOnlyObjectWrapper<LocalDateTime> nextShowtime = aNextShowtimes.get(pMovie.getId());
+        if (nextShowtime == null) {
+            nextShowtime = new ReadOnlyObjectWrapper<>();
+            aNextShowtimes.put(pMovie.getId(), nextShowtime);
+            setNextShowtime(pMovie.getId(), nextShowtime, nextShowtimeOf(pMovie.getId(), LocalDateTime.now()));
+            scheduleShowtimeTimer();
+        }
+        return nextShowtime.getReadOnlyProperty();
+    }
+
+    /**
+     * Updates the movie index after screenings were removed and added by a single change.
+     * Screenings both removed and added, such as those kept by a replacement of the whole
+     * list, stay indexed as they are.
+     *
+     * @param pRemoved the screenings removed
+     * @param pAdded   the screenings added
+     */
+    private void reindexScreenings(List<Screening> pRemoved, List<Screening> pAdded) {
+        Set<Screening> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(pRemoved);
+        List<Screening> added = new ArrayList<>(pAdded.size());
+        for (Screening screening : pAdded) {
+            if (!removed.remove(screening)) {
+                added.add(screening);
             }
         }
-        return result;
+        unindexScreenings(removed);
+        indexScreenings(added);
+    }
+
+    /**
+     * Adds screenings to the movie index. The list of each movie is changed once, whatever
+     * the number of its screenings added.
+     *
+     * @param pScreenings the screenings to index
+     */
+    private void indexScreenings(List<Screening> pScreenings) {
+        Map<Integer, List<Screening>> screeningsByMovie = new HashMap<>();
+        for (Screening screening : pScreenings) {
+            // an edited screening carries the tickets of the original over to its movie and day
+            StatsService.getInstance().placeScreening(screening);
+            aScreeningsById.put(screening.getId(), screening);
+            Movie movie = screening.getMovie();
+            if (movie != null) {
+                screeningsByMovie.computeIfAbsent(movie.getId(), id -> new ArrayList<>()).add(screening);
+                aShowtimesByMovie.computeIfAbsent(movie.getId(), id -> new TreeMap<>())
+                        .merge(screening.getDateTime(), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<Integer, List<Screening>> entry : screeningsByMovie.entrySet()) {
+            screeningsOf(entry.getKey()).addAll(entry.getValue());
+            updateNextShowtime(entry.getKey());
+        }
+    }
+
+    /**
+     * Removes screenings from the movie index. The list of each movie is changed once and
+     * scanned once, whatever the number of its screenings removed.
+     *
+     * @param pScreenings the screenings to remove from the index
+     */
+    private void unindexScreenings(Collection<Screening> pScreenings) {
+        Map<Integer, Set<Screening>> screeningsByMovie = new HashMap<>();
+        for (Screening screening : pScreenings) {
+            // the edited copy of a screening, under the same ID, may already be indexed
+            aScreeningsById.remove(screening.getId(), screening);
+            Movie movie = screening.getMovie();
+            if (movie != null) {
+                screeningsByMovie.computeIfAbsent(movie.getId(),
+                        id -> Collections.newSetFromMap(new IdentityHashMap<>())).add(screening);
+                TreeMap<LocalDateTime, Integer> showtimes = aShowtimesByMovie.get(movie.getId());
+                if (showtimes != null) {
+                    showtimes.computeIfPresent(screening.getDateTime(), (time, count) -> count > 1 ? count - 1 : null);
+                }
+            }
+        }
+        for (Map.Entry<Integer, Set<Screening>> entry : screeningsByMovie.entrySet()) {
+            ObservableList<Screening> screenings = aScreeningsByMovie.get(entry.getKey());
+            if (screenings != null) {
+                screenings.removeAll(entry.getValue());
+            }
+            updateNextShowtime(entry.getKey());
+        }
+    }
+
+    /**
+     * Finds the first showtime of a movie after a given time.
+     *
+     * @param pMovieId the ID of the movie
+     * @param pTime    the time
+     * @return the first showtime strictly after the time, or null if there is none
+     */
+    private LocalDateTime nextShowtimeOf(int pMovieId, LocalDateTime pTime) {
+        TreeMap<LocalDateTime, Integer> showtimes = aShowtimesByMovie.get(pMovieId);
+        return showtimes == null ? null : showtimes.higherKey(pTime);
+    }
+
+    /**
+     * Updates the next-showtime property of a movie, if one was handed out, after its screenings changed.
+     *
+     * @param pMovieId the ID of the movie
+     */
+    private void updateNextShowtime(int pMovieId) {
+        ReadOnlyObjectWrapper<LocalDateTime> nextShowtime = aNextShowtimes.get(pMovieId);
+        if (nextShowtime != null) {
+            setNextShowtime(pMovieId, nextShowtime, nextShowtimeOf(pMovieId, LocalDateTime.now()));
+            scheduleShowtimeTimer();
+        }
+    }
+
+    /**
+     * Sets the next-showtime property of a movie and moves the movie to its new showtime in
+     * {@link #aMoviesByNextShowtime}.
+     *
+     * @param pMovieId      the ID of the movie
+     * @param pNextShowtime the next-showtime property of the movie
+     * @param pShowtime     the next showtime of the movie, or null if there is none
+     */
+    private void setNextShowtime(int pMovieId, ReadOnlyObjectWrapper<LocalDateTime> pNextShowtime, LocalDateTime pShowtime) {
+        LocalDateTime previous = pNextShowtime.get();
+        if (previous != null) {
+            aMoviesByNextShowtime.computeIfPresent(previous, (time, movieIds) -> {
+                movieIds.remove(pMovieId);
+                return movieIds.isEmpty() ? null : movieIds;
+            });
+        }
+        if (pShowtime != null) {
+            aMoviesByNextShowtime.computeIfAbsent(pShowtime, time -> new HashSet<>()).add(pMovieId);
+        }
+        pNextShowtime.set(pShowtime);
+    }
+
+    /**
+     * Moves the next-showtime properties whose showtime has been reached to the following showtime.
+     */
+    private void expireShowtimes() {
+        // the timer has fired, so it must be armed again even for the same showtime
+        aTimerShowtime = null;
+        LocalDateTime now = LocalDateTime.now();
+        // only the properties holding a reached showtime are visited
+        while (!aMoviesByNextShowtime.isEmpty() && !aMoviesByNextShowtime.firstKey().isAfter(now)) {
+            for (int movieId : aMoviesByNextShowtime.firstEntry().getValue().toArray(new Integer[0])) {
+                setNextShowtime(movieId, aNextShowtimes.get(movieId), nextShowtimeOf(movieId, now));
+            }
+        }
+        scheduleShowtimeTimer();
+    }
+
+    /**
+     * Arms the timer for the earliest of the next showtimes, or stops it if there is none.
+     */
+    private void scheduleShowtimeTimer() {
+        LocalDateTime earliest = aMoviesByNextShowtime.isEmpty() ? null : aMoviesByNextShowtime.firstKey();
+        if ((earliest != null && earliest.equals(aTimerShowtime)) || (earliest == null && aTimerShowtime == null)) {
+            return;
+        }
+
+        if (aShowtimeTimer == null) {
+            aShowtimeTimer = new PauseTransition();
+            aShowtimeTimer.setOnFinished(event -> expireShowtimes());
+        }
+        aShowtimeTimer.stop();
+        aTimerShowtime = earliest;
+        if (earliest != null) {
+            long delay = Math.max(0, Duration.between(LocalDateTime.now(), earliest).toMillis()) + 1;
+            aShowtimeTimer.setDuration(javafx.util.Duration.millis(delay));
+            aShowtimeTimer.play();
+        }
+    }
+
+    /**
+     * Creates the listener keeping the movie index in sync with the screening list of a showroom.
+     *
+     * @param pShowroom the showroom whose screenings are listened to
+     * @return the listener
+     */
+    private ListChangeListener<Screening> screeningIndexListener(Showroom pShowroom) {
+        return change -> {
+            List<Screening> removed = new ArrayList<>();
+            List<Screening> added = new ArrayList<>();
+            while (change.next()) {
+                removed.addAll(change.getRemoved());
+                added.addAll(change.getAddedSubList());
+            }
+            reindexScreenings(removed, added);
+            CommandService.getInstance().stateChanged();
+            EventService.getInstance().publish(new EventService.ScreeningsChanged(pShowroom));
+        };
+    }
+
+    /**
+     * Returns the indexed screenings for a movie, creating an empty entry if needed.
+     *
+     * @param pMovieId the ID of the movie
+     * @return the mutable list of screenings indexed under the movie
+     */
+    private ObservableList<Screening> screeningsOf(int pMovieId) {
+        return aScreeningsByMovie.computeIfAbsent(pMovieId, id -> FXCollections.observableArrayList());
     }
 }
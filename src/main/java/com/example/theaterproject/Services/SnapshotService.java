@@ -0,0 +1,315 @@
+package com.example.theaterproject.Services;
+
+import com.example.theaterproject.Models.Client;
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.ScreeningTree;
+import com.example.theaterproject.Models.SeatMap;
+import com.example.theaterproject.Models.Showroom;
+import com.example.theaterproject.Models.Ticket;
+import javafx.collections.FXCollections;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service reading and writing compact binary snapshots of the theater data.
+ *
+ * <p>
+ * A snapshot holds every movie, showroom, screening, client and ticket along with the
+ * sequence number of the last journal record it includes. Every movie, showroom,
+ * screening and client is written with its ID, and restored under it. Movies are written
+ * once in a table and screenings refer to them by position; the seats of each screening
+ * are written as the raw words of its {@link SeatMap}. Tickets refer to their
+ * screening and client by ID. A snapshot is read into memory in a single call and decoded
+ * from there. It is not memory-mapped: the file stays open for as long as a mapping is
+ * alive, which on Windows keeps the next checkpoint from moving a new snapshot over it.
+ * </p>
+ *
+ * <p>
+ * Snapshots are encoded in memory by {@link #encode(long)} and written to disk by
+ * {@link #write(Path, byte[])}; {@link JournalService} calls the latter from its
+ * writer thread.
+ * </p>
+ */
+public class SnapshotService {
+
+    private static final class Holder {
+        private static final SnapshotService aInstance = new SnapshotService();
+    }
+
+    /**
+     * Marks the start of a snapshot file ("THTR").
+     */
+    private static final int aMagic = 0x54485452;
+
+    /**
+     * Version of the snapshot format; snapshots of any other version are rejected.
+     */
+    private static final int aVersion = 1;
+
+    private final MovieService aMovieService = MovieService.getInstance();
+    private final ShowroomService aShowroomService = ShowroomService.getInstance();
+    private final AccountService aAccountService = AccountService.getInstance();
+    private final TicketService aTicketService = TicketService.getInstance();
+
+    private SnapshotService() { }
+
+    /**
+     * Returns the singleton instance of SnapshotService, creating it on first use.
+     *
+     * @return the singleton SnapshotService instance
+     */
+    public static SnapshotService getInstance() {
+        return Holder.aInstance;
+    }
+
+    /**
+     * Encodes the current content of the services.
+     *
+     * @param pSequence the sequence number of the last journal record reflected in the services
+     * @return the encoded snapshot
+     */
+    public byte[] encode(long pSequence) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(aMagic);
+            out.writeInt(aVersion);
+            out.writeLong(pSequence);
+
+            // movie table: the catalog first, then movies only referenced by screenings, such as
+            // movies removed from the catalog; screenings refer to their movie by ID
+            Map<Integer, Integer> movieIndexes = new HashMap<>();
+            List<Movie> movieTable = new ArrayList<>(aMovieService.getMovies());
+            for (int i = 0; i < movieTable.size(); i++) {
+                movieIndexes.putIfAbsent(movieTable.get(i).getId(), i);
+            }
+            int catalogSize = movieTable.size();
+            for (Showroom showroom : aShowroomService.getShowrooms()) {
+                for (Screening screening : showroom.getShowroomScreenings()) {
+                    if (!movieIndexes.containsKey(screening.getMovie().getId())) {
+                        movieIndexes.put(screening.getMovie().getId(), movieTable.size());
+                        movieTable.add(screening.getMovie());
+                    }
+                }
+            }
+            out.writeInt(catalogSize);
+            out.writeInt(movieTable.size());
+            for (Movie movie : movieTable) {
+                out.writeInt(movie.getId());
+                writeString(out, movie.getTitle());
+                out.writeInt(movie.getRuntime());
+            }
+
+            // screenings written, which are the only ones tickets may refer to
+            Set<Integer> screeningIds = new HashSet<>();
+            out.writeInt(aShowroomService.getShowrooms().size());
+            for (int i = 0; i < aShowroomService.getShowrooms().size(); i++) {
+                Showroom showroom = aShowroomService.getShowrooms().get(i);
+                out.writeInt(showroom.getId());
+                writeString(out, showroom.getShowroomName());
+                out.writeInt(showroom.getShowroomCapacity());
+                ScreeningTree screenings = showroom.getScreeningsSnapshot();
+                out.writeInt(screenings.size());
+                for (Screening screening : screenings) {
+                    screeningIds.add(screening.getId());
+                    out.writeInt(screening.getId());
+                    out.writeInt(movieIndexes.get(screening.getMovie().getId()));
+                    out.writeInt(screening.getTicketCount());
+                    out.writeLong(screening.getPricePerTicketInCents());
+                    out.writeLong(screening.getDateTime().toEpochSecond(ZoneOffset.UTC));
+                    out.writeInt(screening.getDateTime().getNano());
+                    long[] seatWords = screening.getSeats() == null ? new long[0] : screening.getSeats().toWords();
+                    out.writeInt(seatWords.length);
+                    for (long word : seatWords) {
+                        out.writeLong(word);
+                    }
+                }
+            }
+
+            out.writeInt(aAccountService.getClients().size());
+            for (Client client : aAccountService.getClients()) {
+                out.writeInt(client.getId());
+                writeString(out, client.getUserName());
+                writeString(out, client.getPasswordHash());
+                writeString(out, client.getEmail());
+            }
+
+            // tickets of screenings that no longer exist are left out
+            List<Ticket> tickets = new ArrayList<>();
+            for (Ticket ticket : aTicketService.getTickets()) {
+                if (screeningIds.contains(ticket.getScreening().getId())) {
+                    tickets.add(ticket);
+                }
+            }
+            out.writeInt(tickets.size());
+            for (Ticket ticket : tickets) {
+                out.writeInt(ticket.getScreening().getId());
+                out.writeInt(ticket.getSeat());
+                out.writeInt(ticket.getClient().getId());
+                out.writeLong(ticket.getPriceInCents());
+                writeString(out, aTicketService.getIdempotencyKey(ticket));
+            }
+        } catch (IOException e) {
+            // writing to memory cannot fail
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Durably writes an encoded snapshot, replacing the previous one.
+     *
+     * <p>
+     * The snapshot is first written and forced to a temporary file which is then moved
+     * over the previous snapshot, so a crash never leaves a partially written snapshot.
+     * </p>
+     *
+     * @param pFile     the snapshot file
+     * @param pSnapshot the encoded snapshot
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void write(Path pFile, byte[] pSnapshot) throws IOException {
+        Path temporary = pFile.resolveSibling(pFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(pSnapshot);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, pFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a snapshot into the services, replacing their current content.
+     *
+     * @param pFile the snapshot file
+     * @return the sequence number of the last journal record included in the snapshot,
+     *         or -1 if there is no snapshot
+     * @throws IOException if the snapshot cannot be read or is not a valid snapshot
+     */
+    public long load(Path pFile) throws IOException {
+        if (!Files.exists(pFile)) {
+            return -1;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(pFile));
+        try {
+            if (in.remaining() < 16 || in.getInt() != aMagic) {
+                throw new IOException("Not a valid snapshot: " + pFile);
+            }
+            int version = in.getInt();
+            if (version != aVersion) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + pFile);
+            }
+            long sequence = in.getLong();
+
+            int catalogSize = in.getInt();
+            Movie[] movieTable = new Movie[in.getInt()];
+            for (int i = 0; i < movieTable.length; i++) {
+                int id = in.getInt();
+                String title = readString(in);
+                movieTable[i] = new Movie(id, title, in.getInt());
+            }
+
+            int showroomCount = in.getInt();
+            List<Showroom> showrooms = new ArrayList<>(showroomCount);
+            Map<Integer, Screening> screeningsById = new HashMap<>();
+            for (int i = 0; i < showroomCount; i++) {
+                int showroomId = in.getInt();
+                String name = readString(in);
+                int capacity = in.getInt();
+                int screeningCount = in.getInt();
+                List<Screening> screenings = new ArrayList<>(screeningCount);
+                for (int j = 0; j < screeningCount; j++) {
+                    int screeningId = in.getInt();
+                    Movie movie = movieTable[in.getInt()];
+                    int ticketCount = in.getInt();
+                    long price = in.getLong();
+                    long epochSecond = in.getLong();
+                    LocalDateTime dateTime = LocalDateTime.ofEpochSecond(epochSecond, in.getInt(), ZoneOffset.UTC);
+                    long[] seatWords = new long[in.getInt()];
+                    in.asLongBuffer().get(seatWords);
+                    in.position(in.position() + seatWords.length * Long.BYTES);
+                    Screening screening = Screening.restore(screeningId, movie, ticketCount, price, dateTime,
+                            SeatMap.fromWords(capacity, seatWords));
+                    screenings.add(screening);
+                    screeningsById.put(screeningId, screening);
+                }
+                showrooms.add(new Showroom(showroomId, name, capacity, FXCollections.observableArrayList(screenings)));
+            }
+
+            int clientCount = in.getInt();
+            List<Client> clients = new ArrayList<>(clientCount);
+            for (int i = 0; i < clientCount; i++) {
+                int id = in.getInt();
+                String userName = readString(in);
+                String passwordHash = readString(in);
+                clients.add(Client.restore(id, userName, passwordHash, readString(in)));
+            }
+
+            aMovieService.setMovies(FXCollections.observableArrayList(Arrays.asList(movieTable).subList(0, catalogSize)));
+            aShowroomService.setShowrooms(FXCollections.observableArrayList(showrooms));
+            aAccountService.setClients(clients);
+
+            aTicketService.clear();
+            int ticketCount = in.getInt();
+            for (int i = 0; i < ticketCount; i++) {
+                Screening screening = screeningsById.get(in.getInt());
+                int seat = in.getInt();
+                Client client = aAccountService.getClient(in.getInt());
+                long price = in.getLong();
+                Ticket ticket = new Ticket(screening.getMovie(), screening, price, client, seat);
+                aTicketService.restoreTicket(ticket, readString(in));
+            }
+            return sequence;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupted snapshot: " + pFile, e);
+        }
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string; {@code null} is written as length -1.
+     */
+    private static void writeString(DataOutputStream pOut, String pValue) throws IOException {
+        if (pValue == null) {
+            pOut.writeInt(-1);
+            return;
+        }
+        byte[] bytes = pValue.getBytes(StandardCharsets.UTF_8);
+        pOut.writeInt(bytes.length);
+        pOut.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     */
+    private static String readString(ByteBuffer pIn) {
+        int length = pIn.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        pIn.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
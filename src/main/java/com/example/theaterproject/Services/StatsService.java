@@ -0,0 +1,271 @@
+package com.example.theaterproject.Services;
+
+import com.example.theaterproject.Models.Movie;
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.Showroom;
+import com.example.theaterproject.Models.Ticket;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service maintaining running totals of the tickets sold and the revenue they brought in,
+ * per screening, per movie, per showroom, per day and overall.
+ *
+ * <p>
+ * Totals are updated as tickets are issued, instead of being computed from the tickets
+ * when they are read, so reading any of them takes constant time. A ticket counts for the
+ * movie, showroom and day of its screening; when a screening is edited, its totals move
+ * along with it. Totals are kept by the IDs of the screenings, movies and showrooms, so
+ * an edited screening or movie, which keeps the ID of the original, keeps its totals.
+ * </p>
+ *
+ * <p>
+ * Revenue is added up in whole cents, so totals are exact however many tickets they cover.
+ * Tickets may be recorded on any thread. Recording a ticket allocates nothing and never
+ * waits on other sales: each total sums its tickets and its revenue in separate striped
+ * counters. The price of this is that a total read during sales may hold the count of a
+ * ticket being recorded without its revenue, or the other way around; it is exact again
+ * once the ticket is recorded. Views refresh the totals they show on the
+ * {@link EventService.TicketsSold} and {@link EventService.ScreeningsChanged} events
+ * published after the changes recorded here, so the figures they settle on are exact.
+ * </p>
+ */
+public class StatsService {
+
+    private static final class Holder {
+        private static final StatsService aInstance = new StatsService();
+    }
+
+    /**
+     * Totals of each screening, by screening ID.
+     */
+    private final Map<Integer, ScreeningTotals> aByScreening = new ConcurrentHashMap<>();
+
+    /**
+     * Totals of each movie, by movie ID.
+     */
+    private final Map<Integer, Rollup> aByMovie = new ConcurrentHashMap<>();
+
+    /**
+     * Totals of each showroom, by showroom ID.
+     */
+    private final Map<Integer, Rollup> aByShowroom = new ConcurrentHashMap<>();
+
+    /**
+     * Totals of each day, by the day the screenings take place.
+     */
+    private final Map<LocalDate, Rollup> aByDay = new ConcurrentHashMap<>();
+
+    /**
+     * Totals across every screening.
+     */
+    private final Rollup aOverall = new Rollup();
+
+    private StatsService() { }
+
+    /**
+     * Returns the singleton instance of StatsService, creating it on first use.
+     *
+     * @return the singleton StatsService instance
+     */
+    public static StatsService getInstance() {
+        return Holder.aInstance;
+    }
+
+    /**
+     * Retrieves the totals of a screening.
+     *
+     * @param pScreening the screening
+     * @return the tickets sold for the screening and their revenue
+     */
+    public Totals getTotals(Screening pScreening) {
+        ScreeningTotals totals = aByScreening.get(pScreening.getId());
+        return totals == null ? Totals.NONE : totals.aRollup.toTotals();
+    }
+
+    /**
+     * Retrieves the totals of a movie, across its screenings.
+     *
+     * @param pMovie the movie
+     * @return the tickets sold for the movie and their revenue
+     */
+    public Totals getTotals(Movie pMovie) {
+        return totalsOf(aByMovie, pMovie.getId());
+    }
+
+    /**
+     * Retrieves the totals of a showroom, across its screenings.
+     *
+     * @param pShowroom the showroom
+     * @return the tickets sold for the showroom and their revenue
+     */
+    public Totals getTotals(Showroom pShowroom) {
+        return totalsOf(aByShowroom, pShowroom.getId());
+    }
+
+    /**
+     * Retrieves the totals of a day, across the screenings taking place that day.
+     *
+     * @param pDay the day
+     * @return the tickets sold for the day and their revenue
+     */
+    public Totals getTotals(LocalDate pDay) {
+        return totalsOf(aByDay, pDay);
+    }
+
+    /**
+     * Retrieves the totals across every screening.
+     *
+     * @return the tickets sold and their revenue
+     */
+    public Totals getOverallTotals() {
+        return aOverall.toTotals();
+    }
+
+    /**
+     * Adds a ticket to the totals of its screening and of the movie, showroom and day of
+     * the screening; called by {@link TicketService} as tickets are stored.
+     *
+     * @param pTicket the ticket
+     */
+    void recordTicket(Ticket pTicket) {
+        Screening screening = pTicket.getScreening();
+        ScreeningTotals totals = aByScreening.computeIfAbsent(screening.getId(), id -> new ScreeningTotals());
+        synchronized (totals) {
+            if (totals.aDay == null) {
+                attribute(totals, screening);
+            }
+            totals.aRollup.add(1, pTicket.getPriceInCents());
+            add(totals, 1, pTicket.getPriceInCents());
+        }
+        aOverall.add(1, pTicket.getPriceInCents());
+    }
+
+    /**
+     * Moves the totals of a screening to its current movie, showroom and day, if one of them
+     * changed since its tickets were recorded; called by {@link ShowroomService} as screenings
+     * are scheduled, which includes the edited copy of a screening.
+     *
+     * @param pScreening the screening
+     */
+    void placeScreening(Screening pScreening) {
+        ScreeningTotals totals = aByScreening.get(pScreening.getId());
+        if (totals == null) {
+            return;
+        }
+        synchronized (totals) {
+            if (totals.isAttributedTo(pScreening)) {
+                return;
+            }
+            Totals moved = totals.aRollup.toTotals();
+            add(totals, -moved.tickets(), -moved.revenueInCents());
+            attribute(totals, pScreening);
+            add(totals, moved.tickets(), moved.revenueInCents());
+        }
+    }
+
+    /**
+     * Resets every total, before restoring tickets saved earlier.
+     */
+    void clear() {
+        aByScreening.clear();
+        aByMovie.clear();
+        aByShowroom.clear();
+        aByDay.clear();
+        aOverall.reset();
+    }
+
+    /**
+     * Records the movie, showroom and day a screening's totals count for.
+     */
+    private static void attribute(ScreeningTotals pTotals, Screening pScreening) {
+        pTotals.aMovieId = idOf(pScreening.getMovie());
+        pTotals.aShowroomId = idOf(pScreening.getShowroom());
+        pTotals.aDay = pScreening.getDateTime().toLocalDate();
+    }
+
+    /**
+     * Adds to the totals of the movie, showroom and day a screening's totals count for.
+     */
+    private void add(ScreeningTotals pTotals, long pTickets, long pRevenue) {
+        if (pTotals.aMovieId != 0) {
+            aByMovie.computeIfAbsent(pTotals.aMovieId, id -> new Rollup()).add(pTickets, pRevenue);
+        }
+        if (pTotals.aShowroomId != 0) {
+            aByShowroom.computeIfAbsent(pTotals.aShowroomId, id -> new Rollup()).add(pTickets, pRevenue);
+        }
+        aByDay.computeIfAbsent(pTotals.aDay, day -> new Rollup()).add(pTickets, pRevenue);
+    }
+
+    private static int idOf(Movie pMovie) {
+        return pMovie == null ? 0 : pMovie.getId();
+    }
+
+    private static int idOf(Showroom pShowroom) {
+        return pShowroom == null ? 0 : pShowroom.getId();
+    }
+
+    private static <K> Totals totalsOf(Map<K, Rollup> pRollups, K pKey) {
+        Rollup rollup = pKey == null ? null : pRollups.get(pKey);
+        return rollup == null ? Totals.NONE : rollup.toTotals();
+    }
+
+    /**
+     * Tickets sold and their revenue.
+     *
+     * @param tickets        the number of tickets sold
+     * @param revenueInCents the revenue of the tickets, in cents
+     */
+    public record Totals(long tickets, long revenueInCents) {
+
+        /**
+         * Totals of something no ticket was sold for.
+         */
+        public static final Totals NONE = new Totals(0, 0);
+    }
+
+    /**
+     * Running totals, which any number of threads may add to at once without allocating or
+     * retrying. The tickets and the revenue are summed separately, so a total read while
+     * tickets are being recorded may count a ticket without its revenue, or the other way
+     * around, until the recording finishes.
+     */
+    private static final class Rollup {
+        private final LongAdder aTickets = new LongAdder();
+        private final LongAdder aRevenue = new LongAdder();
+
+        void add(long pTickets, long pRevenue) {
+            aTickets.add(pTickets);
+            aRevenue.add(pRevenue);
+        }
+
+        void reset() {
+            aTickets.reset();
+            aRevenue.reset();
+        }
+
+        Totals toTotals() {
+            return new Totals(aTickets.sum(), aRevenue.sum());
+        }
+    }
+
+    /**
+     * Running totals of a screening, along with the movie, showroom and day they count for;
+     * an ID of 0 stands for no movie or showroom. The attribution is guarded by the object's monitor.
+     */
+    private static final class ScreeningTotals {
+        private final Rollup aRollup = new Rollup();
+        private int aMovieId;
+        private int aShowroomId;
+        private LocalDate aDay;
+
+        boolean isAttributedTo(Screening pScreening) {
+            return aShowroomId == idOf(pScreening.getShowroom())
+                    && aDay.equals(pScreening.getDateTime().toLocalDate())
+                    && aMovieId == idOf(pScreening.getMovie());
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.theaterproject.Services;
+
+import com.example.theaterproject.Models.Client;
+import com.example.theaterproject.Models.Screening;
+import com.example.theaterproject.Models.SeatMap;
+import com.example.theaterproject.Models.Showroom;
+import com.example.theaterproject.Models.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Service issuing and storing the tickets purchased by clients.
+ *
+ * <p>
+ * A purchase takes one of the tickets available for the screening and claims a seat in
+ * its {@link SeatMap}, both with compare-and-set operations, so purchases can run on
+ * any number of threads at once without a lock and without overselling. Issued tickets
+ * are stored in concurrent collections, by screening and by client. A purchase only
+ * holds the read lock of its showroom, which keeps the showroom from being edited
+ * meanwhile without blocking purchases in the same or other showrooms.
+ * </p>
+ *
+ * <p>
+ * A purchase may carry an idempotency key, such as an identifier generated when the
+ * client starts checking out. Retrying a purchase with the same key returns the ticket
+ * issued the first time instead of charging the client again.
+ * </p>
+ *
+ * <p>
+ * Tickets are stored by the ID of their screening and of their client rather than by the
+ * objects themselves, so the tickets of an edited screening, which keeps the ID and the
+ * seats of the original, stay attached to it.
+ * </p>
+ */
+public class TicketService {
+
+    private static final class Holder {
+        private static final TicketService aInstance = new TicketService();
+    }
+
+    /**
+     * Issued tickets grouped by the ID of their screening.
+     */
+    private final Map<Integer, Queue<Ticket>> aTicketsByScreening = new ConcurrentHashMap<>();
+
+    /**
+     * Issued tickets grouped by the ID of their client.
+     */
+    private final Map<Integer, Queue<Ticket>> aTicketsByClient = new ConcurrentHashMap<>();
+
+    /**
+     * Tickets issued for a purchase carrying an idempotency key, by key. A key is reserved
+     * with an incomplete future while its ticket is being issued.
+     */
+    private final Map<String, CompletableFuture<Ticket>> aTicketsByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Idempotency keys by ticket, for the tickets issued for a purchase carrying one.
+     */
+    private final Map<Ticket, String> aKeysByTicket = new ConcurrentHashMap<>();
+
+    private final ShowroomService aShowroomService = ShowroomService.getInstance();
+    private final StatsService aStatsService = StatsService.getInstance();
+
+    private TicketService() { }
+
+    /**
+     * Returns the singleton instance of TicketService, creating it on first use.
+     *
+     * @return the singleton TicketService instance
+     */
+    public static TicketService getInstance() {
+        return Holder.aInstance;
+    }
+
+    /**
+     * Purchases a ticket for a screening.
+     *
+     * <p>
+     * The ticket is charged the current price of the screening and assigned the first free
+     * seat found. When an idempotency key is given and a ticket was already issued for it,
+     * that ticket is returned and nothing else happens.
+     * </p>
+     *
+     * @param pClient         the client purchasing the ticket; cannot be null
+     * @param pScreening      the screening; must be scheduled in a showroom
+     * @param pIdempotencyKey a key identifying the purchase across retries, or null
+     * @return the issued ticket
+     * @throws IllegalArgumentException if the client or screening is null, if the screening is not
+     *                                  scheduled in a showroom, or if the key was used for another purchase
+     * @throws IllegalStateException    if the screening is sold out, or if the journal can no longer be written
+     */
+    public Ticket purchase(Client pClient, Screening pScreening, String pIdempotencyKey) {
+        if (pClient == null) {
+            throw new IllegalArgumentException("Client cannot be null");
+        }
+        if (pScreening == null) {
+            throw new IllegalArgumentException("Screening cannot be null");
+        }
+        if (pIdempotencyKey == null) {
+            return issue(pClient, pScreening, null);
+        }
+
+        // only the purchase that reserves the key issues a ticket; the others wait for it
+        CompletableFuture<Ticket> issued = new CompletableFuture<>();
+        CompletableFuture<Ticket> reserved = aTicketsByKey.putIfAbsent(pIdempotencyKey, issued);
+        Ticket ticket;
+        if (reserved == null) {
+            try {
+                ticket = issue(pClient, pScreening, pIdempotencyKey);
+            } catch (RuntimeException e) {
+                // the key is released so that the purchase can be retried
+                aTicketsByKey.remove(pIdempotencyKey, issued);
+                issued.completeExceptionally(e);
+                throw e;
+            }
+            issued.complete(ticket);
+        } else {
+            ticket = await(reserved);
+        }
+        if (ticket.getClient().getId() != pClient.getId()
+                || ticket.getScreening().getId() != pScreening.getId()) {
+            throw new IllegalArgumentException("Idempotency key was already used for another purchase");
+        }
+        return ticket;
+    }
+
+    /**
+     * Retrieves the tickets issued for a screening.
+     *
+     * @param pScreening the screening
+     * @return the tickets of the screening, in the order they were issued
+     */
+    public List<Ticket> getTicketsFor(Screening pScreening) {
+        Queue<Ticket> tickets = aTicketsByScreening.get(pScreening.getId());
+        return tickets == null ? List.of() : new ArrayList<>(tickets);
+    }
+
+    /**
+     * Retrieves the tickets purchased by a client.
+     *
+     * @param pClient the client
+     * @return the tickets of the client, in the order they were issued
+     */
+    public List<Ticket> getTicketsFor(Client pClient) {
+        Queue<Ticket> tickets = aTicketsByClient.get(pClient.getId());
+        return tickets == null ? List.of() : new ArrayList<>(tickets);
+    }
+
+    /**
+     * Retrieves the ticket issued for an idempotency key.
+     *
+     * @param pIdempotencyKey the key
+     * @return the ticket issued for the key, or null if there is none
+     */
+    public Ticket getTicket(String pIdempotencyKey) {
+        CompletableFuture<Ticket> ticket = aTicketsByKey.get(pIdempotencyKey);
+        return ticket == null || !ticket.isDone() || ticket.isCompletedExceptionally() ? null : ticket.join();
+    }
+
+    /**
+     * Retrieves every issued ticket, grouped by screening.
+     *
+     * @return the issued tickets
+     */
+    public List<Ticket> getTickets() {
+        List<Ticket> tickets = new ArrayList<>();
+        for (Queue<Ticket> screeningTickets : aTicketsByScreening.values()) {
+            tickets.addAll(screeningTickets);
+        }
+        return tickets;
+    }
+
+    /**
+     * Retrieves the idempotency key a ticket was issued for.
+     *
+     * @param pTicket the ticket
+     * @return the key of the purchase that issued the ticket, or null if it carried none
+     */
+    public String getIdempotencyKey(Ticket pTicket) {
+        return aKeysByTicket.get(pTicket);
+    }
+
+    /**
+     * Stores a ticket that was issued earlier, such as one read from a snapshot or the journal.
+     * The seat and ticket count of its screening are left as they are.
+     *
+     * @param pTicket         the ticket
+     * @param pIdempotencyKey the key of the purchase that issued the ticket, or null
+     */
+    public void restoreTicket(Ticket pTicket, String pIdempotencyKey) {
+        if (pIdempotencyKey != null) {
+            aTicketsByKey.put(pIdempotencyKey, CompletableFuture.completedFuture(pTicket));
+        }
+        store(pTicket, pIdempotencyKey);
+    }
+
+    /**
+     * Removes every stored ticket, before restoring tickets saved earlier.
+     */
+    public void clear() {
+        aTicketsByScreening.clear();
+        aTicketsByClient.clear();
+        aTicketsByKey.clear();
+        aKeysByTicket.clear();
+        aStatsService.clear();
+    }
+
+    /**
+     * Issues a ticket: takes a ticket from the screening, claims a seat, stores the ticket, journals it
+     * and publishes the sale.
+     * When a key is given, {@link #purchase} has reserved it beforehand.
+     */
+    private Ticket issue(Client pClient, Screening pScreening, String pIdempotencyKey) {
+        Showroom showroom = pScreening.getShowroom();
+        if (showroom == null) {
+            throw new IllegalArgumentException("Screening is not scheduled in a showroom");
+        }
+        // a ticket that could not be journaled would be sold again after a restart
+        JournalService.getInstance().checkWritable();
+        Lock lock = aShowroomService.getLock(showroom).readLock();
+        lock.lock();
+        try {
+            // the screening or its showroom may have been removed while waiting for the lock
+            SeatMap seats = pScreening.getSeats();
+            if (pScreening.getShowroom() != showroom || seats == null
+                    || !aShowroomService.getShowroomsSnapshot().contains(showroom)) {
+                throw new IllegalArgumentException("Screening is not scheduled in a showroom");
+            }
+            if (!pScreening.takeTicket()) {
+                throw new IllegalStateException("Screening is sold out");
+            }
+            int seat = seats.claimAny();
+            if (seat < 0) {
+                pScreening.returnTicket();
+                throw new IllegalStateException("Screening is sold out");
+            }
+
+            Ticket ticket = new Ticket(pScreening.getMovie(), pScreening, pScreening.getPricePerTicketInCents(), pClient, seat);
+            store(ticket, pIdempotencyKey);
+            JournalService.getInstance().recordTicketIssued(ticket, pIdempotencyKey);
+            EventService.getInstance().publish(new EventService.TicketsSold(pScreening, 1));
+            return ticket;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the ticket of a purchase carrying the same key, issued on another thread.
+     *
+     * @throws RuntimeException the exception of that purchase if it failed
+     */
+    private static Ticket await(CompletableFuture<Ticket> pTicket) {
+        try {
+            return pTicket.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stores a ticket by screening and by client, along with the key it was issued for,
+     * and adds it to the statistics.
+     */
+    private void store(Ticket pTicket, String pIdempotencyKey) {
+        aTicketsByScreening.computeIfAbsent(pTicket.getScreening().getId(), id -> new ConcurrentLinkedQueue<>())
+                .add(pTicket);
+        aTicketsByClient.computeIfAbsent(pTicket.getClient().getId(), id -> new ConcurrentLinkedQueue<>())
+                .add(pTicket);
+        if (pIdempotencyKey != null) {
+            aKeysByTicket.put(pTicket, pIdempotencyKey);
+        }
+        aStatsService.recordTicket(pTicket);
+    }
+}
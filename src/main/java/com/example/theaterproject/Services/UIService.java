@@ -1,5 +1,6 @@
 package com.example.theaterproject.Services;
 
+import com.example.theaterproject.Helpers.StartupTimeline;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
@@ -9,19 +10,102 @@ import javafx.scene.control.Alert;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Service for common UI operations.
  * Provides reusable methods for window management, alerts, and FXML loading.
+ *
+ * <p>
+ * Each FXML file is resolved and read from the application resources once, and later loads
+ * of the same view read its source from memory. Only the resource lookup and read are saved:
+ * every load still parses the source and builds a new scene graph and controller, which only
+ * the views kept alive by {@link #showView} or loaded ahead by {@link #preloadFXML} avoid.
+ * The cards shown in bulk by the movie and showroom views do not go through FXML at all:
+ * their controllers build them in code, see {@code MovieCardController.create()}.
+ * </p>
+ *
+ * <p>
+ * Views likely to be opened next can be prepared ahead of time: {@link #warmUp} reads their
+ * FXML and loads the classes they use on a background thread, and {@link #preloadFXML} loads
+ * a view on the JavaFX application thread so that the next {@link #loadFXML} of it returns
+ * at once.
+ * </p>
+ *
+ * <p>
+ * The application runs in a single primary window. Navigating to a view swaps the root of its
+ * scene rather than opening a new window. The screens the user moves back and forth between
+ * are shown with {@link #showView}, which keeps the most recently used ones alive in a small
+ * least-recently-used cache so that returning to them is instant. Forms that must start out
+ * empty are opened fresh with {@link #openView}. Views listen to the services through weak
+ * listeners, so a view dropped from the cache can be garbage collected.
+ * </p>
  */
 public class UIService {
 
-    private static UIService aInstance;
+    private static final class Holder {
+        private static final UIService aInstance = new UIService();
+    }
+
     private static final String aFxmlPathPrefix = "/com/example/theaterproject/";
     public static final int aDefaultScreenWidth = 480;
     public static final int aDefaultScreenHeight = 350;
 
+    /**
+     * Resource URLs of the FXML files loaded so far, by the name they were requested with.
+     */
+    private final Map<String, URL> aFxmlUrls = new ConcurrentHashMap<>();
+
+    /**
+     * Source of the FXML files loaded so far, by resource URL, sparing later loads the resource
+     * read but not the parsing.
+     */
+    private final Map<URL, byte[]> aFxmlSources = new ConcurrentHashMap<>();
+
+    /**
+     * Views loaded ahead of time by {@link #preloadFXML}, by resource URL, waiting to be returned
+     * by {@link #loadFXML}. Only used on the JavaFX application thread.
+     */
+    private final Map<URL, FXMLLoader> aPreloadedViews = new HashMap<>();
+
+    /**
+     * Maximum number of views kept alive by {@link #showView}.
+     */
+    private static final int aMaxRetainedViews = 4;
+
+    /**
+     * Views shown with {@link #showView}, by resource URL, from the least to the most recently used.
+     * Only used on the JavaFX application thread.
+     */
+    private final Map<URL, FXMLLoader> aRetainedViews = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<URL, FXMLLoader> pEldest) {
+            return size() > aMaxRetainedViews;
+        }
+    };
+
+    /**
+     * The window of the application, in which every view is shown.
+     */
+    private Stage aPrimaryStage;
+
+    /**
+     * Matches the classes imported by an FXML file and the class of its controller.
+     */
+    private static final Pattern aFxmlClassPattern =
+            Pattern.compile("<\\?import\\s+([\\w.]+)\\s*\\?>|fx:controller=\"([\\w.]+)\"");
+
     private UIService() {
     }
 
@@ -29,10 +113,7 @@ public class UIService {
      * Gets the singleton instance of UIService.
      */
     public static UIService getInstance() {
-        if (aInstance == null) {
-            aInstance = new UIService();
-        }
-        return aInstance;
+        return Holder.aInstance;
     }
 
     /**
@@ -90,16 +171,8 @@ public class UIService {
      * The dialog is modal and will block interaction with other windows until closed.
      */
     public FXMLLoader openModalDialog(String pFxmlFileName, String pTitle, double pWidth, double pHeight) throws IOException {
-        // Handle both full paths and filename-only inputs
-        String resourcePath = pFxmlFileName;
-        if (!resourcePath.startsWith("/")) {
-            resourcePath = aFxmlPathPrefix + pFxmlFileName;
-        }
-        if (!resourcePath.endsWith(".fxml")) {
-            resourcePath = resourcePath + ".fxml";
-        }
-        FXMLLoader loader = new FXMLLoader(UIService.class.getResource(resourcePath));
-        Parent root = loader.load();
+        FXMLLoader loader = loadFXML(pFxmlFileName);
+        Parent root = loader.getRoot();
 
         Stage modal = new Stage();
         modal.setScene(new Scene(root, pWidth, pHeight));
@@ -112,50 +185,184 @@ public class UIService {
 
     /**
      * Loads an FXML file and returns the FXMLLoader for accessing the controller.
+     * Returns the view loaded ahead of time by {@link #preloadFXML} instead, if there is one.
      */
     public FXMLLoader loadFXML(String pFxmlFileName) throws IOException {
-        // Handle both full paths and filename-only inputs
-        String resourcePath = pFxmlFileName;
-        if (!resourcePath.startsWith("/")) {
-            resourcePath = aFxmlPathPrefix + pFxmlFileName;
+        URL location = resolveFXML(pFxmlFileName);
+        FXMLLoader preloaded = aPreloadedViews.remove(location);
+        return preloaded != null ? preloaded : load(location);
+    }
+
+    /**
+     * Loads an FXML file ahead of time, so that the next {@link #loadFXML} of it returns at once.
+     * Does nothing if the view is already preloaded. Must be called on the JavaFX application thread.
+     */
+    public void preloadFXML(String pFxmlFileName) throws IOException {
+        URL location = resolveFXML(pFxmlFileName);
+        if (!aPreloadedViews.containsKey(location)) {
+            aPreloadedViews.put(location, load(location));
+            StartupTimeline.mark("Preloaded " + pFxmlFileName);
         }
-        if (!resourcePath.endsWith(".fxml")) {
-            resourcePath = resourcePath + ".fxml";
+    }
+
+    /**
+     * Drops the views loaded ahead of time that were not used.
+     */
+    public void discardPreloadedViews() {
+        aPreloadedViews.clear();
+    }
+
+    /**
+     * Prepares views on a background thread: reads their FXML and loads the classes they import
+     * along with their controller class, then runs an additional warm-up task, such as building
+     * a card the views show. Loading the views afterwards skips that work.
+     *
+     * @param pFxmlFileNames the views to prepare
+     * @param pWarmUp        additional work to run after the views are prepared, or null
+     */
+    public void warmUp(List<String> pFxmlFileNames, Runnable pWarmUp) {
+        Thread.ofPlatform().daemon().name("view-warm-up").start(() -> {
+            for (String fxmlFileName : pFxmlFileNames) {
+                try {
+                    Matcher classes = aFxmlClassPattern.matcher(
+                            new String(readFXML(resolveFXML(fxmlFileName)), StandardCharsets.UTF_8));
+                    while (classes.find()) {
+                        String className = classes.group(1) != null ? classes.group(1) : classes.group(2);
+                        try {
+                            Class.forName(className, true, UIService.class.getClassLoader());
+                        } catch (ClassNotFoundException | LinkageError e) {
+                            // wildcard imports and static fields are not classes; the view loads them itself
+                        }
+                    }
+                } catch (IOException e) {
+                    // the view will report the error when it is actually loaded
+                }
+            }
+            if (pWarmUp != null) {
+                pWarmUp.run();
+            }
+            StartupTimeline.mark("Views warmed up");
+        });
+    }
+
+    /**
+     * Loads a new instance of an FXML file, parsing its source read from memory.
+     */
+    private FXMLLoader load(URL pLocation) throws IOException {
+        FXMLLoader loader = new FXMLLoader(pLocation);
+        try (InputStream source = new ByteArrayInputStream(readFXML(pLocation))) {
+            loader.load(source);
         }
-        FXMLLoader loader = new FXMLLoader(UIService.class.getResource(resourcePath));
-        loader.load();
         return loader;
     }
 
     /**
-     * Opens a new window with the specified FXML file and closes the current window.
-     * Uses the default screen size.
+     * Sets the window of the application, in which every view is shown.
+     *
+     * @param pStage the primary stage of the application
      */
-    public void openNewWindow(String pFxmlFileName, String pTitle, ActionEvent pEvent) throws IOException {
-        openNewWindow(pFxmlFileName, pTitle, pEvent, aDefaultScreenWidth, aDefaultScreenHeight);
+    public void setPrimaryStage(Stage pStage) {
+        this.aPrimaryStage = pStage;
     }
 
     /**
-     * Opens a new window with the specified FXML file and closes the current window.
-     * Uses custom dimensions.
+     * Shows a view in the primary window, reusing the instance shown before if it is still
+     * cached, and keeps it cached for the next time. Used for the screens the user moves back
+     * and forth between, which must keep themselves up to date while hidden.
+     *
+     * @return the FXMLLoader of the view, for accessing its controller
      */
-    public void openNewWindow(String pFxmlFileName, String pTitle, ActionEvent pEvent, double pWidth, double pHeight) throws IOException {
-        // Handle both full paths and filename-only inputs
-        String resourcePath = pFxmlFileName;
-        if (!resourcePath.startsWith("/")) {
-            resourcePath = aFxmlPathPrefix + pFxmlFileName;
+    public FXMLLoader showView(String pFxmlFileName, String pTitle, double pWidth, double pHeight) throws IOException {
+        URL location = resolveFXML(pFxmlFileName);
+        FXMLLoader loader = aRetainedViews.get(location);
+        if (loader == null) {
+            loader = loadFXML(pFxmlFileName);
+            aRetainedViews.put(location, loader);
         }
-        if (!resourcePath.endsWith(".fxml")) {
-            resourcePath = resourcePath + ".fxml";
+        showRoot(loader.getRoot(), pTitle, pWidth, pHeight);
+        return loader;
+    }
+
+    /**
+     * Shows a newly loaded instance of a view in the primary window. Used for the views that
+     * must start out fresh, such as forms.
+     *
+     * @return the FXMLLoader of the view, for accessing its controller
+     */
+    public FXMLLoader openView(String pFxmlFileName, String pTitle, double pWidth, double pHeight) throws IOException {
+        FXMLLoader loader = loadFXML(pFxmlFileName);
+        showRoot(loader.getRoot(), pTitle, pWidth, pHeight);
+        return loader;
+    }
+
+    /**
+     * Shows a view loaded by the caller in the primary window, sized to its preferred size.
+     */
+    public void showRoot(Parent pRoot, String pTitle) {
+        showRoot(pRoot, pTitle, pRoot.prefWidth(-1), pRoot.prefHeight(-1));
+    }
+
+    /**
+     * Shows a view loaded by the caller in the primary window, swapping the root of its scene
+     * and resizing the window to fit the given dimensions.
+     */
+    public void showRoot(Parent pRoot, String pTitle, double pWidth, double pHeight) {
+        Scene scene = aPrimaryStage.getScene();
+        if (scene == null) {
+            aPrimaryStage.setScene(new Scene(pRoot, pWidth, pHeight));
+        } else {
+            // keep the room taken by the window decorations when resizing
+            double decorationWidth = aPrimaryStage.isShowing() ? aPrimaryStage.getWidth() - scene.getWidth() : 0;
+            double decorationHeight = aPrimaryStage.isShowing() ? aPrimaryStage.getHeight() - scene.getHeight() : 0;
+            scene.setRoot(pRoot);
+            aPrimaryStage.setWidth(pWidth + decorationWidth);
+            aPrimaryStage.setHeight(pHeight + decorationHeight);
         }
-        FXMLLoader loader = new FXMLLoader(UIService.class.getResource(resourcePath));
-        javafx.scene.Parent root = loader.load();
+        aPrimaryStage.setTitle(pTitle);
+        aPrimaryStage.show();
+    }
 
-        javafx.stage.Stage stage = new javafx.stage.Stage();
-        stage.setTitle(pTitle);
-        stage.setScene(new Scene(root, pWidth, pHeight));
-        stage.show();
+    /**
+     * Drops every view kept alive by {@link #showView}, such as when the user signs out.
+     */
+    public void discardRetainedViews() {
+        aRetainedViews.clear();
+    }
 
-        closeWindow(pEvent);
+    /**
+     * Resolves the resource URL of an FXML file, accepting both full resource paths and
+     * file names relative to the application package, with or without the extension.
+     */
+    private URL resolveFXML(String pFxmlFileName) throws IOException {
+        URL location = aFxmlUrls.get(pFxmlFileName);
+        if (location == null) {
+            String resourcePath = pFxmlFileName;
+            if (!resourcePath.startsWith("/")) {
+                resourcePath = aFxmlPathPrefix + pFxmlFileName;
+            }
+            if (!resourcePath.endsWith(".fxml")) {
+                resourcePath = resourcePath + ".fxml";
+            }
+            location = UIService.class.getResource(resourcePath);
+            if (location == null) {
+                throw new IOException("FXML file not found: " + resourcePath);
+            }
+            aFxmlUrls.put(pFxmlFileName, location);
+        }
+        return location;
+    }
+
+    /**
+     * Reads the source of an FXML file, from the cache once it has been read.
+     */
+    private byte[] readFXML(URL pLocation) throws IOException {
+        byte[] source = aFxmlSources.get(pLocation);
+        if (source == null) {
+            try (InputStream in = pLocation.openStream()) {
+                source = in.readAllBytes();
+            }
+            aFxmlSources.put(pLocation, source);
+        }
+        return source;
     }
-}
\ No newline at end of file
+}
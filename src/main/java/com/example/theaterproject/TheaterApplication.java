@@ -1,14 +1,16 @@
 package com.example.theaterproject;
 
 import com.example.theaterproject.Helpers.DummyDataHelper;
+import com.example.theaterproject.Helpers.StartupTimeline;
 import com.example.theaterproject.Models.*;
 import com.example.theaterproject.Services.AccountService;
+import com.example.theaterproject.Services.BookingApiService;
+import com.example.theaterproject.Services.JournalService;
 import com.example.theaterproject.Services.MovieService;
 import com.example.theaterproject.Services.ShowroomService;
+import com.example.theaterproject.Services.UIService;
 import javafx.application.Application;
 import javafx.collections.ObservableList;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
@@ -19,20 +21,43 @@ public class TheaterApplication extends Application {
     private final AccountService accountService = AccountService.getInstance();
     private final ShowroomService showroomService = ShowroomService.getInstance();
 
+    private final JournalService journalService = JournalService.getInstance();
+    private final BookingApiService bookingApiService = BookingApiService.getInstance();
+    private final UIService uiService = UIService.getInstance();
+
     @Override
     public void start(Stage stage) throws IOException {
-        ObservableList<Movie> movies = DummyDataHelper.getDummyMovies();
-        ObservableList<Showroom> showrooms = DummyDataHelper.getDummyShowrooms();
-        ObservableList<Client> clients = DummyDataHelper.getDummyClients();
-
-        movieService.setMovies(movies);
-        showroomService.setShowrooms(showrooms);
-        accountService.setClients(new java.util.ArrayList<>(clients));
-
-        FXMLLoader fxmlLoader = new FXMLLoader(TheaterApplication.class.getResource("login-view.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 600, 300);
-        stage.setTitle("Theatre");
-        stage.setScene(scene);
-        stage.show();
+        StartupTimeline.mark("Application started");
+
+        // rebuild the state of the previous run from the snapshot and journal; seed dummy data on first launch
+        journalService.open(JournalService.getDefaultDirectory());
+        if (!journalService.restore()) {
+            ObservableList<Movie> movies = DummyDataHelper.getDummyMovies();
+            ObservableList<Showroom> showrooms = DummyDataHelper.getDummyShowrooms();
+            ObservableList<Client> clients = DummyDataHelper.getDummyClients();
+
+            movieService.setMovies(movies);
+            showroomService.setShowrooms(showrooms);
+            accountService.setClients(new java.util.ArrayList<>(clients));
+        }
+        StartupTimeline.mark("State restored");
+
+        // the booking API is optional and only starts when a port is configured
+        Integer apiPort = Integer.getInteger(BookingApiService.aPortProperty);
+        if (apiPort != null) {
+            bookingApiService.start(apiPort);
+        }
+
+        // every view is shown in this stage
+        uiService.setPrimaryStage(stage);
+        uiService.openView("login-view", "Theatre", 600, 300);
+        StartupTimeline.mark("Login view shown");
+    }
+
+    @Override
+    public void stop() {
+        // stop selling tickets first, then save a snapshot and flush pending journal records before the JVM exits
+        bookingApiService.stop();
+        journalService.close();
     }
 }
@@ -3,6 +3,7 @@ module com.example.theaterproject {
     requires javafx.fxml;
     requires javafx.graphics;
     requires java.desktop;
+    requires jdk.httpserver;
 
 
     opens com.example.theaterproject to javafx.fxml;